@@ -0,0 +1,91 @@
+package pookie.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pookie.command.Command;
+import pookie.command.CommandRegistry;
+import pookie.command.Parser;
+
+/**
+ * Measures how long it takes to turn a line of input into a command keyword and argument, without executing
+ * it: through the shared {@link CommandRegistry}, and through the trim, split, lowercase and string switch
+ * that {@link Parser} used before the registry existed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    @Param({"list", "mark 12", "todo read book", "deadline report /by 2025-02-28 2359",
+        "fixed_duration shower /duration 1", "list on 2025-03-01", "unknown command"})
+    public String input;
+
+    private final CommandRegistry commands = Parser.getCommands();
+
+    /**
+     * Dispatches through the command registry.
+     */
+    @Benchmark
+    public Command registry() {
+        return commands.parse(input);
+    }
+
+    /**
+     * Dispatches the way {@code parseCommandAndReturn} did before the registry, returning the argument of a
+     * known command or {@code null}.
+     */
+    @Benchmark
+    public String legacySwitch() {
+        String trimmed = input.trim();
+        switch (trimmed.toLowerCase()) {
+        case "bye":
+        case "list":
+            return "";
+        default:
+            break;
+        }
+
+        String command;
+        String argument;
+        if (trimmed.startsWith("list on ")) {
+            command = "list on";
+            argument = trimmed.substring(8).trim();
+        } else {
+            String[] parts = trimmed.split(" ", 2);
+            command = parts[0].trim().toLowerCase();
+            argument = parts.length > 1 ? parts[1].trim() : "";
+        }
+
+        switch (command) {
+        case "mark":
+        case "unmark":
+        case "delete":
+        case "list":
+        case "find":
+        case "list on":
+        case "todo":
+        case "deadline":
+        case "event":
+        case "fixed_duration":
+        case "export":
+        case "convert":
+        case "import":
+            return argument;
+        default:
+            return null;
+        }
+    }
+}
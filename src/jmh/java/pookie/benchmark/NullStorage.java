@@ -0,0 +1,48 @@
+package pookie.benchmark;
+
+import java.util.List;
+
+import pookie.storage.Storage;
+import pookie.task.Task;
+
+/**
+ * A {@link Storage} that never touches the disk, so that command benchmarks exclude file I/O.
+ */
+public class NullStorage extends Storage {
+    /**
+     * Constructs a storage that ignores every save.
+     */
+    public NullStorage() {
+        super("unused.txt");
+    }
+
+    @Override
+    public void saveTasks(List<Task> tasks) {
+        // Discarded
+    }
+
+    @Override
+    public void saveAddition(List<Task> tasks, Task task) {
+        // Discarded
+    }
+
+    @Override
+    public void saveAdditions(List<Task> tasks, List<Task> added) {
+        // Discarded
+    }
+
+    @Override
+    public void saveInsertion(List<Task> tasks, int index, Task task) {
+        // Discarded
+    }
+
+    @Override
+    public void saveMarking(List<Task> tasks, int index) {
+        // Discarded
+    }
+
+    @Override
+    public void saveDeletion(List<Task> tasks, int index) {
+        // Discarded
+    }
+}
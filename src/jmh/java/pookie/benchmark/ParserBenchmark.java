@@ -0,0 +1,83 @@
+package pookie.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pookie.command.Parser;
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.task.Task;
+import pookie.ui.Ui;
+
+/**
+ * Measures command parsing and execution through {@link Parser#parseCommandAndReturn}, and parsing of saved
+ * task lines through {@link Parser#parseTaskFromLine}. Saving is excluded by using a {@link NullStorage}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    /**
+     * One command type run against a 1000-task list.
+     */
+    @State(Scope.Thread)
+    public static class Command {
+        @Param({"todo read book", "deadline report /by 2025-02-28 2359",
+            "event meeting /from 2025-03-01 1400 /to 2025-03-01 1600", "fixed_duration shower /duration 1",
+            "mark 1", "find book", "list on 2025-03-01"})
+        public String command;
+
+        private TaskList tasks;
+        private final Ui ui = new QuietUi();
+        private final Storage storage = new NullStorage();
+
+        /**
+         * Starts every iteration from the same list, so that adding commands do not grow it unboundedly.
+         */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            tasks = new TaskList(TaskDataGenerator.generate(1000, 42));
+        }
+    }
+
+    /**
+     * One line of each task type in the saved file format.
+     */
+    @State(Scope.Thread)
+    public static class Line {
+        @Param({"T | 1 | read book", "D | 0 | report | 2025-02-28 2359",
+            "E | 0 | meeting | 2025-03-01 1400 | 2025-03-01 1600", "F | 0 | shower | 1"})
+        public String line;
+    }
+
+    /**
+     * Parses and executes one command, as the GUI does.
+     */
+    @Benchmark
+    public String parseCommandAndReturn(Command state) throws PookieException {
+        return Parser.parseCommandAndReturn(state.command, state.tasks, state.ui, state.storage);
+    }
+
+    /**
+     * Parses one line of the task file.
+     */
+    @Benchmark
+    public Task parseTaskFromLine(Line state) throws PookieException {
+        return Parser.parseTaskFromLine(state.line);
+    }
+}
@@ -0,0 +1,18 @@
+package pookie.benchmark;
+
+import pookie.ui.Ui;
+
+/**
+ * A {@link Ui} that discards all output, so that benchmarks measure Pookie rather than the console.
+ */
+public class QuietUi extends Ui {
+    @Override
+    public void showMessage(String message) {
+        // Discarded
+    }
+
+    @Override
+    public void showError(String message) {
+        // Discarded
+    }
+}
@@ -0,0 +1,85 @@
+package pookie.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pookie.exception.PookieException;
+import pookie.storage.Storage;
+import pookie.task.Task;
+
+/**
+ * Measures {@link Storage#loadTasks()} and {@link Storage#saveTasks} on generated task files of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int loadThreads;
+
+    private File directory;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+
+    /**
+     * Writes a task file of {@link #size} generated tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, PookieException {
+        directory = Files.createTempDirectory("pookie-bench").toFile();
+        storage = new Storage(new File(directory, "pookie.txt").getPath());
+        storage.setLoadThreads(loadThreads);
+        tasks = TaskDataGenerator.generate(size, 42);
+        storage.saveTasks(tasks);
+    }
+
+    /**
+     * Deletes the generated files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * Loads the whole task file.
+     */
+    @Benchmark
+    public ArrayList<Task> loadTasks() throws PookieException {
+        return storage.loadTasks();
+    }
+
+    /**
+     * Rewrites the whole task file.
+     */
+    @Benchmark
+    public void saveTasks() throws PookieException {
+        storage.saveTasks(tasks);
+    }
+}
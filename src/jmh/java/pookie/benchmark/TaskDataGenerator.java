@@ -0,0 +1,58 @@
+package pookie.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+/**
+ * Generates reproducible synthetic task lists for the benchmarks.
+ * <p>
+ * The four task types are mixed evenly, descriptions are drawn from a small vocabulary so that they repeat
+ * like real data does, and dates fall within one year so that date queries have realistic hit rates.
+ */
+public class TaskDataGenerator {
+    /** Words that descriptions are built from. */
+    public static final String[] WORDS = {"work", "meeting", "standup", "report", "read", "book", "gym",
+        "groceries", "email", "review", "project", "call", "lunch", "plan", "deploy", "fix", "bug", "design"};
+
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * Returns {@code count} tasks generated from {@code seed}.
+     */
+    public static ArrayList<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            LocalDateTime start = FIRST_DATE.plusMinutes(random.nextInt(365 * 24 * 60));
+            Task task;
+            switch (i % 4) {
+            case 0:
+                task = new ToDo(description);
+                break;
+            case 1:
+                task = new Deadline(description, start);
+                break;
+            case 2:
+                task = new Event(description, start, start.plusHours(1 + random.nextInt(72)));
+                break;
+            default:
+                task = new FixedDurationTask(description, 1 + random.nextInt(8));
+                break;
+            }
+            if (random.nextInt(3) == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,87 @@
+package pookie.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pookie.command.Parser;
+import pookie.exception.PookieException;
+import pookie.list.History;
+import pookie.list.TaskLayout;
+import pookie.list.TaskList;
+import pookie.task.Task;
+
+/**
+ * Measures the read-only queries on {@link TaskList}: {@code find}, {@code list on} and {@code list}, for each
+ * {@link TaskLayout}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"OBJECTS", "COLUMNAR", "OFF_HEAP"})
+    public TaskLayout layout;
+
+    private TaskList tasks;
+    private final LocalDate date = LocalDate.of(2025, 6, 15);
+
+    /**
+     * The keyword searched for, kept in its own state so the date benchmarks are not repeated per keyword.
+     */
+    @State(Scope.Benchmark)
+    public static class Keyword {
+        @Param({"standup", "bug 12", "zz"})
+        public String keyword;
+    }
+
+    /**
+     * Builds a list of {@link #size} generated tasks, laid out as {@link #layout}.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new TaskList(TaskDataGenerator.generate(size, 42), new History(History.DEFAULT_DEPTH), layout);
+    }
+
+    /**
+     * Finds the tasks containing the keyword.
+     */
+    @Benchmark
+    public ArrayList<Task> findTasksReturn(Keyword keyword) {
+        return tasks.findTasksReturn(keyword.keyword);
+    }
+
+    /**
+     * Finds the deadlines and events on a fixed date.
+     */
+    @Benchmark
+    public ArrayList<Task> getTasksOn() {
+        return tasks.getTasksOn(date);
+    }
+
+    /**
+     * Renders the {@code list on} reply, including formatting of the matching tasks.
+     */
+    @Benchmark
+    public String listOnCommand() throws PookieException {
+        return Parser.parseCommandAndReturn("list on 2025-06-15", tasks, new QuietUi(), new NullStorage());
+    }
+}
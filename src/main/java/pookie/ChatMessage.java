@@ -0,0 +1,28 @@
+package pookie;
+
+/**
+ * One message in the GUI conversation log, either typed by the user or answered by Pookie.
+ */
+public final class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructs a message.
+     *
+     * @param text       The text of the message.
+     * @param isFromUser Whether the user, rather than Pookie, sent the message.
+     */
+    public ChatMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+}
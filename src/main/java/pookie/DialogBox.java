@@ -1,14 +1,10 @@
 package pookie;
 
 import java.io.IOException;
-import java.util.Collections;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -17,6 +13,9 @@ import javafx.scene.layout.HBox;
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * A dialog box can be given a new message with {@link #setMessage}, so that the conversation log can reuse a
+ * few boxes instead of creating one per message.
  */
 public class DialogBox extends HBox {
     @FXML
@@ -24,7 +23,7 @@ public class DialogBox extends HBox {
     @FXML
     private ImageView displayPicture;
 
-    private DialogBox(String text, Image img) {
+    private DialogBox() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
             fxmlLoader.setController(this);
@@ -33,30 +32,40 @@ public class DialogBox extends HBox {
         } catch (IOException e) {
             e.printStackTrace();
         }
+    }
 
+    /**
+     * Shows {@code text} next to {@code img}. The user's messages have the picture on the right and Pookie's
+     * on the left.
+     */
+    public void setMessage(String text, Image img, boolean isFromUser) {
         dialog.setText(text);
         displayPicture.setImage(img);
+        if (isFromUser) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        }
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Returns an empty dialog box, to be filled in with {@link #setMessage}.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    public static DialogBox create() {
+        return new DialogBox();
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        DialogBox db = new DialogBox();
+        db.setMessage(text, img, true);
+        return db;
     }
 
     public static DialogBox getPookieDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
+        DialogBox db = new DialogBox();
+        db.setMessage(text, img, false);
         return db;
     }
 }
-
-
@@ -0,0 +1,40 @@
+package pookie;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * A cell of the conversation log. The list view only creates enough cells to fill the visible area and
+ * recycles them while scrolling, and each cell reuses a single {@link DialogBox}.
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    /** Room left for the vertical scroll bar, so that wrapped text never needs horizontal scrolling. */
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+
+    private final DialogBox box = DialogBox.create();
+    private final Image userImage;
+    private final Image pookieImage;
+
+    /**
+     * Constructs a cell for {@code view}.
+     */
+    public DialogCell(ListView<ChatMessage> view, Image userImage, Image pookieImage) {
+        this.userImage = userImage;
+        this.pookieImage = pookieImage;
+        box.prefWidthProperty().bind(view.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        box.setMessage(message.getText(), message.isFromUser() ? userImage : pookieImage, message.isFromUser());
+        setGraphic(box);
+    }
+}
@@ -1,15 +1,64 @@
 package pookie;
 
+import java.io.IOException;
+
 import javafx.application.Application;
+import pookie.server.ApiServer;
+import pookie.tenant.TenantRegistry;
 
 /**
  * A launcher class to workaround classpath issues in JavaFX.
+ * <p>
+ * With {@code --server [PORT]} it starts the headless HTTP/JSON API (see {@link ApiServer}) instead of the GUI.
+ * With {@code -Dpookie.tenants=DIR} as well, the API keeps a separate task list per user in {@code DIR}.
  */
 public class Launcher {
+    private static final String SERVER_FLAG = "--server";
+    /** System property giving the directory of per-user task files, which makes the server multi-user. */
+    private static final String TENANTS_PROPERTY = "pookie.tenants";
+    /** System property setting how many users' task lists the server keeps in memory. */
+    private static final String MAX_RESIDENT_PROPERTY = "pookie.tenants.maxResident";
+
     public static void main(String[] args) {
         assert args != null : "Arguments should not be null";
+        if (args.length > 0 && args[0].equals(SERVER_FLAG)) {
+            startServer(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
-}
 
+    /**
+     * Starts the API server on the port given after the flag, or on {@value ApiServer#DEFAULT_PORT}. The server
+     * keeps running until the process is stopped, and closes the storage on the way out.
+     */
+    private static void startServer(String[] args) {
+        int port;
+        try {
+            port = args.length > 1 ? Integer.parseInt(args[1]) : ApiServer.DEFAULT_PORT;
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: " + SERVER_FLAG + " [PORT]");
+            return;
+        }
 
+        try {
+            ApiServer server = createServer(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "pookie-api-shutdown"));
+            server.start();
+            System.out.println("Pookie's API is listening on http://localhost:" + server.getPort());
+        } catch (IOException e) {
+            System.err.println("Could not start Pookie's API on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    private static ApiServer createServer(int port) throws IOException {
+        String tenantDirectory = System.getProperty(TENANTS_PROPERTY);
+        if (tenantDirectory != null) {
+            int maxResident = Math.max(1, Integer.getInteger(MAX_RESIDENT_PROPERTY,
+                    TenantRegistry.DEFAULT_MAX_RESIDENT));
+            return new ApiServer(new TenantRegistry(tenantDirectory, maxResident, Pookie::createStorage), port);
+        }
+        Pookie pookie = new Pookie(Pookie.DEFAULT_FILE_PATH);
+        return new ApiServer(pookie.getTaskList(), pookie.getStorage(), port);
+    }
+}
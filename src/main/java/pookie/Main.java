@@ -14,6 +14,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Pookie pookie = new Pookie();
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -22,7 +23,8 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setPookie(pookie); // inject the Duke instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setPookie(pookie); // inject the Duke instance
             stage.show();
             System.out.println("Received arguments:");
             for (String arg : getParameters().getRaw()) {
@@ -32,6 +34,13 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
 
 
@@ -1,30 +1,73 @@
 package pookie;
 
+import java.util.function.Function;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
+import pookie.command.CommandWorker;
+import pookie.task.DateTimeCodec;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * The conversation is shown in a virtualized {@link ListView} that keeps only the last {@value #MAX_MESSAGES}
+ * messages, and the tasks can be shown in a virtualized {@link TableView} instead. Both only lay out the rows
+ * that are visible, so the cost of a message does not grow with the length of the session or of the list.
+ * <p>
+ * Commands run on a {@link CommandWorker} rather than on the JavaFX application thread, so the window keeps
+ * responding while a command or its disk writes are in progress. Further input may be sent meanwhile; it is
+ * queued and answered in order.
  */
 public class MainWindow extends AnchorPane {
+    /** Number of messages kept in the conversation log; older ones are dropped. */
+    private static final int MAX_MESSAGES = 500;
+    private static final String BUSY_PROMPT = "Pookie is working on it...";
+    private static final String SEND_TEXT = "Send";
+    private static final String BUSY_SEND_TEXT = "...";
+
+    @FXML
+    private ListView<ChatMessage> conversationLog;
+    @FXML
+    private TableView<Task> taskTable;
+    @FXML
+    private TableColumn<Task, Void> numberColumn;
     @FXML
-    private ScrollPane scrollPane;
+    private TableColumn<Task, String> typeColumn;
     @FXML
-    private VBox dialogContainer;
+    private TableColumn<Task, String> doneColumn;
+    @FXML
+    private TableColumn<Task, String> descriptionColumn;
+    @FXML
+    private TableColumn<Task, String> whenColumn;
+    @FXML
+    private ToggleButton taskTableToggle;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Pookie pookie;
+    private TaskTableModel taskTableModel;
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final CommandWorker worker = new CommandWorker(Platform::runLater);
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
     private Image pookieImage = new Image(this.getClass().getResourceAsStream("/images/Pookie.png"));
@@ -32,46 +75,80 @@ public class MainWindow extends AnchorPane {
     /**
      * Initializes the GUI components after loading the FXML file.
      * <p>
-     * This method sets up the necessary bindings and event listeners for UI elements.
-     * Specifically, it ensures that the ScrollPane automatically scrolls to the bottom
-     * as new dialog messages are added to the dialog container.
+     * This method connects the conversation log to its messages and sets up the columns of the task table,
+     * which replaces the log while the Tasks button is selected.
      * </p>
      */
     @FXML
     public void initialize() {
-        assert scrollPane != null : "ScrollPane should not be null";
-        assert dialogContainer != null : "DialogContainer should not be null";
+        assert conversationLog != null : "ConversationLog should not be null";
+        assert taskTable != null : "TaskTable should not be null";
         assert userInput != null : "UserInput should not be null";
         assert sendButton != null : "SendButton should not be null";
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+
+        conversationLog.setItems(messages);
+        conversationLog.setCellFactory(view -> new DialogCell(view, userImage, pookieImage));
+
+        numberColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Void item, boolean isEmpty) {
+                super.updateItem(item, isEmpty);
+                setText(isEmpty ? null : Integer.toString(getIndex() + 1));
+            }
+        });
+        typeColumn.setCellValueFactory(cell -> text(cell.getValue(), task -> task.getType().name()));
+        doneColumn.setCellValueFactory(cell -> text(cell.getValue(), Task::getStatusIcon));
+        descriptionColumn.setCellValueFactory(cell -> text(cell.getValue(), Task::getDescription));
+        whenColumn.setCellValueFactory(cell -> text(cell.getValue(), MainWindow::describeTiming));
+
+        taskTable.visibleProperty().bind(taskTableToggle.selectedProperty());
+        conversationLog.visibleProperty().bind(taskTableToggle.selectedProperty().not());
+        taskTableToggle.selectedProperty().addListener((observable, wasSelected, isSelected) -> {
+            if (isSelected && taskTableModel != null) {
+                taskTableModel.refresh();
+            }
+        });
     }
 
     /** Injects the Pookie instance */
     public void setPookie(Pookie p) {
         assert p != null : "Pookie instance should not be null";
         pookie = p;
+        taskTableModel = new TaskTableModel(p.getTaskList());
+        taskTable.setItems(taskTableModel);
 
         // Display welcome message when the chatbot starts
         String greeting = "Hello your highness! I'm Pookie\n⸜(｡˃ ᵕ ˂ )⸝♡\nWhat can I do for you?";
-        dialogContainer.getChildren().add(
-                DialogBox.getPookieDialog(greeting, pookieImage)
-        );
+        addMessage(greeting, false);
+        if (p.getLoadWarning() != null) {
+            addMessage(p.getLoadWarning(), false);
+        }
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Pookie's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Adds the user input to the conversation log, clears it and hands it to the worker. Pookie's reply is
+     * added by {@link #showResponse} once the command has run.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = pookie.getResponse(input);
         System.out.println("User input received: " + input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getPookieDialog(response, pookieImage)
-        );
+        addMessage(input, true);
         userInput.clear();
+        showBusy(true);
+        worker.submit(() -> pookie.getResponse(input), response -> showResponse(input, response));
+    }
+
+    /**
+     * Adds Pookie's reply to the conversation log and refreshes the task table if it is showing. Runs on the
+     * JavaFX application thread.
+     */
+    private void showResponse(String input, String response) {
+        addMessage(response, false);
+        if (taskTableToggle.isSelected()) {
+            taskTableModel.refresh();
+        }
+        showBusy(worker.isBusy());
 
         if (input.trim().equalsIgnoreCase("bye")) {
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
@@ -79,5 +156,57 @@ public class MainWindow extends AnchorPane {
             delay.play();
         }
     }
-}
 
+    /**
+     * Waits for queued commands to finish. Called when the application stops.
+     */
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    /**
+     * Shows whether commands are still waiting for a reply in the prompt of the input and on the Send button.
+     */
+    private void showBusy(boolean isBusy) {
+        userInput.setPromptText(isBusy ? BUSY_PROMPT : "");
+        sendButton.setText(isBusy ? BUSY_SEND_TEXT : SEND_TEXT);
+    }
+
+    /**
+     * Appends a message to the conversation log, drops the oldest messages beyond {@value #MAX_MESSAGES} and
+     * scrolls to the newest one.
+     */
+    private void addMessage(String text, boolean isFromUser) {
+        messages.add(new ChatMessage(text, isFromUser));
+        if (messages.size() > MAX_MESSAGES) {
+            messages.remove(0, messages.size() - MAX_MESSAGES);
+        }
+        conversationLog.scrollTo(messages.size() - 1);
+    }
+
+    private static ReadOnlyStringWrapper text(Task task, Function<Task, String> field) {
+        return new ReadOnlyStringWrapper(task == null ? "" : field.apply(task));
+    }
+
+    /**
+     * Returns when a task is due or takes place, or how long it takes.
+     */
+    private static String describeTiming(Task task) {
+        StringBuilder timing = new StringBuilder();
+        switch (task.getType()) {
+        case DEADLINE:
+            DateTimeCodec.appendDisplay(timing.append("by "), ((Deadline) task).getByDate());
+            break;
+        case EVENT:
+            DateTimeCodec.appendDisplay(timing, ((Event) task).getStartDate()).append(" - ");
+            DateTimeCodec.appendDisplay(timing, ((Event) task).getEndDate());
+            break;
+        case FIXED_DURATION:
+            timing.append(((FixedDurationTask) task).getDuration()).append(" hours");
+            break;
+        default:
+            break;
+        }
+        return timing.toString();
+    }
+}
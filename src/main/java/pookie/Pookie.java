@@ -1,9 +1,19 @@
 package pookie;
 
+import java.util.ArrayList;
+
 import pookie.command.Parser;
 import pookie.exception.PookieException;
+import pookie.list.History;
+import pookie.list.TaskLayout;
 import pookie.list.TaskList;
+import pookie.metrics.PookieStats;
+import pookie.storage.BinaryStorage;
+import pookie.storage.JournalStorage;
+import pookie.storage.LoadReport;
 import pookie.storage.Storage;
+import pookie.storage.WriteBehindStorage;
+import pookie.task.Task;
 import pookie.ui.Ui;
 
 /**
@@ -11,12 +21,35 @@ import pookie.ui.Ui;
  * It manages task storage, parsing commands, and returning responses.
  */
 public class Pookie {
-    private static final String DEFAULT_FILE_PATH = System.getProperty("user.dir") + "/data/pookie.txt";
+    static final String DEFAULT_FILE_PATH = System.getProperty("user.dir") + "/data/pookie.txt";
+    /** System property that switches storage to the binary snapshot format, e.g. {@code -Dpookie.binary=true}. */
+    private static final String BINARY_PROPERTY = "pookie.binary";
+    /** System property that switches storage to the append-only journal, e.g. {@code -Dpookie.journal=true}. */
+    private static final String JOURNAL_PROPERTY = "pookie.journal";
+    /** System property overriding how many journal records trigger a compaction. */
+    private static final String COMPACT_EVERY_PROPERTY = "pookie.journal.compactEvery";
+    /** System property that batches saves in the background, e.g. {@code -Dpookie.writeBehind=true}. */
+    private static final String WRITE_BEHIND_PROPERTY = "pookie.writeBehind";
+    /** System property setting the longest time, in milliseconds, a change waits before being saved. */
+    private static final String WRITE_BEHIND_DELAY_PROPERTY = "pookie.writeBehind.delayMs";
+    /** System property setting how many changes trigger an immediate save. */
+    private static final String WRITE_BEHIND_MAX_PENDING_PROPERTY = "pookie.writeBehind.maxPending";
+    /** System property setting how many threads parse the task file on startup. */
+    private static final String LOAD_THREADS_PROPERTY = "pookie.loadThreads";
+    /** System property setting how many changes can be undone. */
+    private static final String UNDO_DEPTH_PROPERTY = "pookie.undoDepth";
+    /** System property that fails the load on a damaged record instead of setting it aside. */
+    private static final String STRICT_LOAD_PROPERTY = "pookie.strictLoad";
+    /** System property that keeps tasks in memory column by column, e.g. {@code -Dpookie.columnar=true}. */
+    private static final String COLUMNAR_PROPERTY = "pookie.columnar";
+    /** System property that keeps tasks in memory outside the Java heap, e.g. {@code -Dpookie.offHeap=true}. */
+    private static final String OFF_HEAP_PROPERTY = "pookie.offHeap";
 
     private final Storage storage;
     private final TaskList tasks;
     private final Ui ui;
     private final Parser parser;
+    private String loadWarning;
 
     /**
      * Constructs a Pookie chatbot instance with a specified file path.
@@ -27,19 +60,25 @@ public class Pookie {
         assert filePath != null && !filePath.isEmpty() : "File path must not be null or empty";
 
         ui = new Ui();
-        storage = new Storage(filePath);
+        storage = createStorage(filePath);
         parser = new Parser();
 
         System.out.println("Loading tasks from: " + DEFAULT_FILE_PATH);
 
         TaskList loadedTasks;
         try {
-            loadedTasks = new TaskList(storage.loadTasks()); // This can throw PookieException
+            loadedTasks = openTaskList(storage); // This can throw PookieException
         } catch (PookieException e) {
             ui.showLoadingError();
             loadedTasks = new TaskList(); // If an error occurs, initialize with an empty list
         }
+        LoadReport report = storage.getLoadReport();
+        if (report != null && report.hasProblems()) {
+            loadWarning = report.describe();
+            ui.showMessage(loadWarning);
+        }
         this.tasks = loadedTasks;
+        PookieStats.register(tasks);
     }
 
     /**
@@ -50,6 +89,66 @@ public class Pookie {
         ui.showWelcome();
     }
 
+    /**
+     * Creates the storage backend selected through system properties.
+     */
+    public static Storage createStorage(String filePath) {
+        Storage storage;
+        if (Boolean.getBoolean(BINARY_PROPERTY)) {
+            storage = new BinaryStorage(filePath.replaceFirst("\\.txt$", "") + BinaryStorage.EXTENSION);
+        } else if (Boolean.getBoolean(JOURNAL_PROPERTY)) {
+            storage = new JournalStorage(filePath,
+                    Integer.getInteger(COMPACT_EVERY_PROPERTY, JournalStorage.DEFAULT_COMPACT_EVERY));
+        } else {
+            storage = new Storage(filePath);
+        }
+        if (Boolean.getBoolean(WRITE_BEHIND_PROPERTY)) {
+            storage = new WriteBehindStorage(storage,
+                    Long.getLong(WRITE_BEHIND_DELAY_PROPERTY, WriteBehindStorage.DEFAULT_DELAY_MILLIS),
+                    Integer.getInteger(WRITE_BEHIND_MAX_PENDING_PROPERTY, WriteBehindStorage.DEFAULT_MAX_PENDING));
+        }
+        storage.setLoadThreads(Math.max(1,
+                Integer.getInteger(LOAD_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors())));
+        storage.setLenient(!Boolean.getBoolean(STRICT_LOAD_PROPERTY));
+        return storage;
+    }
+
+    /**
+     * Loads the tasks saved in {@code storage}, with their undo history. A file saved before tasks had ids is
+     * saved again once ids have been assigned, so that they stay the same from then on, and so is a file that a
+     * lenient load found damaged, once the damaged records have been set aside.
+     *
+     * @throws PookieException If the tasks cannot be loaded, or their new ids cannot be saved.
+     */
+    public static TaskList openTaskList(Storage storage) throws PookieException {
+        ArrayList<Task> loaded = storage.loadTasks();
+        boolean hasMissingIds = loaded.stream().anyMatch(task -> task.getId() == 0);
+        LoadReport report = storage.getLoadReport();
+        TaskList tasks = new TaskList(loaded, openHistory(storage), taskLayout());
+        if (hasMissingIds || report != null && report.hasProblems()) {
+            storage.saveTasks(tasks.getTasks());
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the in-memory layout of task lists selected through system properties.
+     */
+    public static TaskLayout taskLayout() {
+        if (Boolean.getBoolean(OFF_HEAP_PROPERTY)) {
+            return TaskLayout.OFF_HEAP;
+        }
+        return Boolean.getBoolean(COLUMNAR_PROPERTY) ? TaskLayout.COLUMNAR : TaskLayout.OBJECTS;
+    }
+
+    /**
+     * Opens the undo history saved next to the task file of {@code storage}.
+     */
+    public static History openHistory(Storage storage) {
+        return History.open(storage.getFilePath() + ".undo",
+                Math.max(1, Integer.getInteger(UNDO_DEPTH_PROPERTY, History.DEFAULT_DEPTH)));
+    }
+
     /**
      * Loads tasks from storage and handles errors.
      */
@@ -73,6 +172,21 @@ public class Pookie {
         }
     }
 
+    /**
+     * Returns what was wrong with the task file when it was loaded, or {@code null} if nothing was.
+     */
+    public String getLoadWarning() {
+        return loadWarning;
+    }
+
+    public TaskList getTaskList() {
+        return tasks;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
     /**
      * Runs the chatbot in CLI mode.
      */
@@ -0,0 +1,57 @@
+package pookie;
+
+import java.util.Collections;
+import java.util.List;
+
+import javafx.collections.ObservableListBase;
+import pookie.list.TaskList;
+import pookie.task.Task;
+
+/**
+ * A read-only observable view of a {@link TaskList} for the task table, without copying the tasks.
+ * <p>
+ * The table only asks for the rows it shows, so its cost does not depend on the number of tasks. Changes to
+ * the list are picked up when {@link #refresh()} is called, which tells the table that every row may have
+ * changed.
+ */
+public class TaskTableModel extends ObservableListBase<Task> {
+    private final TaskList tasks;
+    private int size;
+
+    /**
+     * Constructs a view of {@code tasks}.
+     */
+    public TaskTableModel(TaskList tasks) {
+        this.tasks = tasks;
+        this.size = tasks.size();
+    }
+
+    /**
+     * Returns the task in row {@code index}, or {@code null} if the list has shrunk since the last refresh.
+     */
+    @Override
+    public Task get(int index) {
+        List<Task> snapshot = tasks.getTasks();
+        return index < snapshot.size() ? snapshot.get(index) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports the current contents of the list to the table.
+     */
+    public void refresh() {
+        beginChange();
+        if (size > 0) {
+            nextRemove(0, Collections.nCopies(size, (Task) null));
+        }
+        size = tasks.size();
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,61 @@
+package pookie.command;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.metrics.Metrics;
+import pookie.storage.Storage;
+import pookie.ui.Ui;
+
+/**
+ * A user command that has been split into its registered keyword and its argument, ready to be executed.
+ * Instances are produced by {@link CommandRegistry#parse(String)}.
+ * Every execution is timed and recorded in {@link Metrics} under the command's keyword.
+ */
+public final class Command {
+    private final String keyword;
+    private final String argument;
+    private final CommandHandler handler;
+
+    Command(String keyword, String argument, CommandHandler handler) {
+        this.keyword = keyword;
+        this.argument = argument;
+        this.handler = handler;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * Executes the command for the command line, showing any output through {@code ui}.
+     */
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws PookieException {
+        long start = System.nanoTime();
+        boolean isError = true;
+        try {
+            handler.execute(argument, tasks, ui, storage);
+            isError = false;
+        } finally {
+            Metrics.recordCommand(keyword, System.nanoTime() - start, isError);
+        }
+    }
+
+    /**
+     * Executes the command for the GUI and returns the response to display.
+     */
+    public String executeAndReturn(TaskList tasks, Ui ui, Storage storage) throws PookieException {
+        long start = System.nanoTime();
+        boolean isError = true;
+        try {
+            String response = handler.executeAndReturn(argument, tasks, ui, storage);
+            isError = false;
+            return response;
+        } finally {
+            Metrics.recordCommand(keyword, System.nanoTime() - start, isError);
+        }
+    }
+}
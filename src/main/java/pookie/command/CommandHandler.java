@@ -0,0 +1,78 @@
+package pookie.command;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.ui.Ui;
+
+/**
+ * Carries out one command keyword, for both the command line and the GUI.
+ * <p>
+ * The command line shows its output through the {@link Ui}, while the GUI needs the response as a string.
+ * Commands whose response is the same in both are created with {@link #replying(Reply)}.
+ */
+public interface CommandHandler {
+    /**
+     * Executes the command for the command line, showing any output through {@code ui}.
+     *
+     * @param argument The trimmed text after the keyword, or an empty string.
+     * @throws PookieException If the argument is invalid or the command fails.
+     */
+    void execute(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException;
+
+    /**
+     * Executes the command for the GUI and returns the response to display.
+     *
+     * @param argument The trimmed text after the keyword, or an empty string.
+     * @throws PookieException If the argument is invalid or the command fails.
+     */
+    String executeAndReturn(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException;
+
+    /**
+     * Returns a handler that runs {@code action} on the command line and {@code reply} in the GUI.
+     */
+    static CommandHandler of(Action action, Reply reply) {
+        return new CommandHandler() {
+            @Override
+            public void execute(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException {
+                action.execute(argument, tasks, ui, storage);
+            }
+
+            @Override
+            public String executeAndReturn(String argument, TaskList tasks, Ui ui, Storage storage)
+                    throws PookieException {
+                return reply.executeAndReturn(argument, tasks, ui, storage);
+            }
+        };
+    }
+
+    /**
+     * Returns a handler that runs {@code reply} in both modes, showing the response on the command line.
+     */
+    static CommandHandler replying(Reply reply) {
+        return of((argument, tasks, ui, storage) -> ui.showMessage(reply.executeAndReturn(argument, tasks, ui,
+                storage)), reply);
+    }
+
+    /**
+     * The command line half of a handler.
+     */
+    @FunctionalInterface
+    interface Action {
+        /**
+         * Executes the command, showing any output through {@code ui}.
+         */
+        void execute(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException;
+    }
+
+    /**
+     * The GUI half of a handler.
+     */
+    @FunctionalInterface
+    interface Reply {
+        /**
+         * Executes the command and returns the response.
+         */
+        String executeAndReturn(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException;
+    }
+}
@@ -0,0 +1,124 @@
+package pookie.command;
+
+import java.util.Locale;
+
+/**
+ * A table from command keywords to the {@link CommandHandler}s that carry them out, shared by the command line
+ * and the GUI.
+ * <p>
+ * Keywords are matched without regard to case. Parsing a command does not use regular expressions or split the
+ * input into an array: the keyword is looked up in place in an open-addressed table, and only the argument is
+ * copied out of the input.
+ * <p>
+ * Registration is not thread-safe; register every command before the registry is shared.
+ */
+public class CommandRegistry {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private String[] keywords = new String[INITIAL_CAPACITY];
+    private CommandHandler[] handlers = new CommandHandler[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Registers {@code handler} for {@code keyword}, replacing any handler already registered for it.
+     *
+     * @param keyword A single word of ASCII characters, e.g. {@code todo}.
+     */
+    public void register(String keyword, CommandHandler handler) {
+        assert keyword != null && !keyword.isEmpty() && keyword.indexOf(' ') < 0 : "Keyword must be one word";
+        assert handler != null : "Handler should not be null";
+        if ((size + 1) * 2 > keywords.length) {
+            resize(keywords.length * 2);
+        }
+        String key = keyword.toLowerCase(Locale.ROOT);
+        int slot = slotOf(key, 0, key.length());
+        if (keywords[slot] == null) {
+            size++;
+        }
+        keywords[slot] = key;
+        handlers[slot] = handler;
+    }
+
+    /**
+     * Returns whether a handler is registered for {@code keyword}.
+     */
+    public boolean contains(String keyword) {
+        return keywords[slotOf(keyword, 0, keyword.length())] != null;
+    }
+
+    /**
+     * Splits {@code input} into its keyword and its argument and looks up the keyword.
+     * <p>
+     * Leading and trailing whitespace is ignored. The keyword ends at the first space, and the argument is the
+     * rest of the input with surrounding whitespace removed.
+     *
+     * @return The command, or {@code null} if no handler is registered for the keyword.
+     */
+    public Command parse(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int keywordEnd = input.indexOf(' ', start);
+        if (keywordEnd < 0 || keywordEnd > end) {
+            keywordEnd = end;
+        }
+
+        int slot = slotOf(input, start, keywordEnd);
+        if (keywords[slot] == null) {
+            return null;
+        }
+        int argumentStart = keywordEnd;
+        while (argumentStart < end && input.charAt(argumentStart) <= ' ') {
+            argumentStart++;
+        }
+        String argument = argumentStart == end ? "" : input.substring(argumentStart, end);
+        return new Command(keywords[slot], argument, handlers[slot]);
+    }
+
+    /**
+     * Returns the slot holding the keyword {@code text[start, end)}, or the empty slot where it would go.
+     */
+    private int slotOf(String text, int start, int end) {
+        int mask = keywords.length - 1;
+        int slot = hash(text, start, end) & mask;
+        while (keywords[slot] != null && !matches(keywords[slot], text, start, end)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeywords = keywords;
+        CommandHandler[] oldHandlers = handlers;
+        keywords = new String[capacity];
+        handlers = new CommandHandler[capacity];
+        for (int i = 0; i < oldKeywords.length; i++) {
+            if (oldKeywords[i] != null) {
+                int slot = slotOf(oldKeywords[i], 0, oldKeywords[i].length());
+                keywords[slot] = oldKeywords[i];
+                handlers[slot] = oldHandlers[i];
+            }
+        }
+    }
+
+    private static boolean matches(String keyword, String text, int start, int end) {
+        return keyword.length() == end - start && text.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    /**
+     * Hashes {@code text[start, end)} as if it had been lowercased.
+     */
+    private static int hash(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            h = 31 * h + (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,96 @@
+package pookie.command;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands one at a time on a dedicated background thread, so that a caller such as the GUI never waits
+ * for a command or the disk writes it triggers.
+ * <p>
+ * Commands run strictly in the order they are submitted, and their responses are handed back in the same
+ * order through a callback executor, e.g. {@code Platform::runLater}. The worker is a virtual thread when
+ * the runtime supports them (Java 21 and later) and a daemon platform thread otherwise.
+ */
+public class CommandWorker {
+    private static final String THREAD_NAME = "pookie-commands";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(createThreadFactory());
+    private final Executor callbackExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs a worker that delivers responses through {@code callbackExecutor}.
+     */
+    public CommandWorker(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Queues {@code command} behind every command submitted before it, and passes its response to
+     * {@code onDone} on the callback executor once it has run.
+     */
+    public void submit(Supplier<String> command, Consumer<String> onDone) {
+        inFlight.incrementAndGet();
+        executor.execute(() -> {
+            String response;
+            try {
+                response = command.get();
+            } catch (RuntimeException e) {
+                response = "OOPS!!! Something went wrong: " + e.getMessage();
+            }
+            String result = response;
+            callbackExecutor.execute(() -> {
+                inFlight.decrementAndGet();
+                onDone.accept(result);
+            });
+        });
+    }
+
+    /**
+     * Returns whether a submitted command has not yet delivered its response.
+     */
+    public boolean isBusy() {
+        return inFlight.get() > 0;
+    }
+
+    /**
+     * Stops accepting commands and waits a few seconds for the queued ones to finish, so that their changes
+     * reach the storage before the application exits. Their responses may no longer be delivered.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns a factory for virtual threads if this runtime has them, looked up reflectively so that the code
+     * still compiles and runs on Java 17.
+     */
+    private static ThreadFactory createThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class).invoke(builder, THREAD_NAME);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package pookie.command;
+
+import pookie.exception.PookieException;
+
+/**
+ * The slice of the task list requested by {@code list page N}, {@code list --limit N} and
+ * {@code list --offset N}, which may be combined, e.g. {@code list page 3 --limit 20}.
+ */
+final class ListPage {
+    /** Tasks per page when {@code list page N} is given without {@code --limit}, and in the GUI. */
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final String USAGE = "Princess, please use: list [page N] [--limit N] [--offset N] "
+            + "(e.g. 'list page 2' or 'list --limit 20').";
+
+    private final int offset;
+    private final int limit;
+
+    private ListPage(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the first {@value #DEFAULT_PAGE_SIZE} tasks.
+     */
+    static ListPage first() {
+        return new ListPage(0, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Parses the options of a {@code list} command.
+     *
+     * @param argument The text after {@code list}, e.g. {@code page 3 --limit 20}.
+     * @param size     The number of tasks in the list.
+     * @throws PookieException If an option is unknown or malformed, or the page starts past the last task.
+     */
+    static ListPage parse(String argument, int size) throws PookieException {
+        int page = 0;
+        int limit = 0;
+        int offset = -1;
+        int pos = 0;
+        while (pos < argument.length()) {
+            int optionEnd = tokenEnd(argument, pos);
+            String option = argument.substring(pos, optionEnd);
+            int valueStart = skipSpaces(argument, optionEnd);
+            int valueEnd = tokenEnd(argument, valueStart);
+            int value = parsePositive(argument.substring(valueStart, valueEnd), option.equals("--offset"));
+            switch (option) {
+            case "page":
+                page = value;
+                break;
+            case "--limit":
+                limit = value;
+                break;
+            case "--offset":
+                offset = value;
+                break;
+            default:
+                throw new PookieException(USAGE);
+            }
+            pos = skipSpaces(argument, valueEnd);
+        }
+        if (page > 0 && offset >= 0) {
+            throw new PookieException("Princess, please give either a page or an --offset, not both.");
+        }
+
+        if (limit == 0) {
+            limit = page > 0 ? DEFAULT_PAGE_SIZE : Integer.MAX_VALUE;
+        }
+        if (page > 0) {
+            offset = (int) Math.min((long) (page - 1) * limit, Integer.MAX_VALUE);
+        }
+        ListPage result = new ListPage(Math.max(offset, 0), limit);
+        if (result.offset > 0 && result.offset >= size) {
+            throw new PookieException("Princess, that page is empty. You only have " + size + " tasks.");
+        }
+        return result;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns a line telling which tasks are shown and how to see the next ones, or {@code null} if the page
+     * covers the whole list.
+     */
+    String describe(int size) {
+        int end = (int) Math.min((long) offset + limit, size);
+        if (offset == 0 && end == size) {
+            return null;
+        }
+        StringBuilder footer = new StringBuilder("Showing tasks ").append(offset + 1).append('-').append(end)
+                .append(" of ").append(size).append('.');
+        if (end < size) {
+            footer.append(" Type 'list ");
+            if (offset % limit == 0) {
+                footer.append("page ").append(offset / limit + 2);
+                if (limit != DEFAULT_PAGE_SIZE) {
+                    footer.append(" --limit ").append(limit);
+                }
+            } else {
+                footer.append("--offset ").append(end).append(" --limit ").append(limit);
+            }
+            footer.append("' for more.");
+        }
+        return footer.toString();
+    }
+
+    private static int parsePositive(String text, boolean allowZero) throws PookieException {
+        try {
+            int value = Integer.parseInt(text);
+            if (value > 0 || (allowZero && value == 0)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with non-positive numbers
+        }
+        throw new PookieException(USAGE);
+    }
+
+    private static int tokenEnd(String text, int pos) {
+        int end = text.indexOf(' ', pos);
+        return end < 0 ? text.length() : end;
+    }
+
+    private static int skipSpaces(String text, int pos) {
+        while (pos < text.length() && text.charAt(pos) == ' ') {
+            pos++;
+        }
+        return pos;
+    }
+}
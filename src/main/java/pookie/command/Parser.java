@@ -2,13 +2,17 @@ package pookie.command;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.List;
 
 import pookie.exception.PookieException;
+import pookie.list.TaskCursor;
 import pookie.list.TaskList;
+import pookie.metrics.Metrics;
+import pookie.storage.BinaryStorage;
 import pookie.storage.Storage;
+import pookie.task.DateTimeCodec;
 import pookie.task.Deadline;
 import pookie.task.Event;
 import pookie.task.FixedDurationTask;
@@ -22,6 +26,85 @@ import pookie.ui.Ui;
  * with the UI and storage components.
  */
 public class Parser {
+    private static final CommandRegistry COMMANDS = createCommands();
+
+    /**
+     * Creates a task from the argument of a task command.
+     */
+    @FunctionalInterface
+    private interface TaskFactory {
+        Task create(String argument) throws PookieException;
+    }
+
+    /**
+     * Returns the registry of commands shared by {@link #parseCommand} and {@link #parseCommandAndReturn}.
+     * New commands are registered here once and become available in both.
+     */
+    public static CommandRegistry getCommands() {
+        return COMMANDS;
+    }
+
+    private static CommandRegistry createCommands() {
+        CommandRegistry commands = new CommandRegistry();
+        commands.register("bye", CommandHandler.of((argument, tasks, ui, storage) -> {
+            storage.close();
+            ui.showGoodbye();
+            System.exit(0);
+        }, (argument, tasks, ui, storage) -> {
+            storage.flush(); // Nothing may be left unsaved once the window closes
+            return "Bye Princess! Pookie hopes to see you again!";
+        }));
+        commands.register("list", CommandHandler.of(Parser::handleList, Parser::handleListAndReturn));
+        commands.register("mark", CommandHandler.of(
+                (argument, tasks, ui, storage) -> handleMarking(argument, tasks, ui, storage, true),
+                (argument, tasks, ui, storage) -> {
+                    handleMarking(argument, tasks, ui, storage, true);
+                    return "Nice! I've marked this task as done.";
+                }));
+        commands.register("unmark", CommandHandler.of(
+                (argument, tasks, ui, storage) -> handleMarking(argument, tasks, ui, storage, false),
+                (argument, tasks, ui, storage) -> {
+                    handleMarking(argument, tasks, ui, storage, false);
+                    return "OK, I've unmarked this task.";
+                }));
+        commands.register("delete", CommandHandler.of(Parser::handleDeletion, (argument, tasks, ui, storage) -> {
+            handleDeletion(argument, tasks, ui, storage);
+            return "OK! I've removed this task.";
+        }));
+        commands.register("find", CommandHandler.of((argument, tasks, ui, storage) -> tasks.findTasks(argument, ui),
+                (argument, tasks, ui, storage) -> handleFindAndReturn(argument, tasks)));
+        commands.register("todo", adding(Parser::createTodo));
+        commands.register("deadline", adding(Parser::createDeadline));
+        commands.register("event", adding(Parser::createEvent));
+        commands.register("fixed_duration", adding(Parser::createFixedDurationTask));
+        commands.register("export", CommandHandler.replying((argument, tasks, ui, storage) ->
+                handleExport(argument, tasks)));
+        commands.register("convert", CommandHandler.replying((argument, tasks, ui, storage) ->
+                handleConvert(argument)));
+        commands.register("import", CommandHandler.replying((argument, tasks, ui, storage) ->
+                TaskImporter.importFile(argument, tasks, storage)));
+        commands.register("undo", CommandHandler.replying((argument, tasks, ui, storage) ->
+                tasks.undo(storage)));
+        commands.register("redo", CommandHandler.replying((argument, tasks, ui, storage) ->
+                tasks.redo(storage)));
+        commands.register("stats", CommandHandler.replying((argument, tasks, ui, storage) ->
+                Metrics.report(tasks.countByType())));
+        return commands;
+    }
+
+    /**
+     * Returns a handler that adds the task built by {@code factory} from the command's argument.
+     */
+    private static CommandHandler adding(TaskFactory factory) {
+        return CommandHandler.of(
+                (argument, tasks, ui, storage) -> tasks.addTask(factory.create(argument), ui, storage),
+                (argument, tasks, ui, storage) -> {
+                    Task task = factory.create(argument);
+                    tasks.addTask(task, ui, storage);
+                    return "Got it! I've added this task:\n" + task;
+                });
+    }
+
     /**
      * Parses and executes the user command.
      *
@@ -37,120 +120,166 @@ public class Parser {
         assert ui != null : "UI instance should not be null";
         assert storage != null : "Storage instance should not be null";
 
-        input = input.trim();
-
-        if (isSimpleCommand(input, tasks, ui)) {
-            return;
+        Command command = COMMANDS.parse(input);
+        if (command == null) {
+            Metrics.recordUnknownCommand();
+            throw new PookieException("Sowwieeee (╥﹏╥) Pookie doesn't understand...");
         }
+        command.execute(tasks, ui, storage);
+    }
 
-        String[] parts = input.split(" ", 2);
-        String command = parts[0].trim().toLowerCase();
-        String argument = parts.length > 1 ? parts[1].trim() : "";
+    /**
+     * Parses the user input command and returns the corresponding response from Pookie.
+     * Unlike {@code parseCommand}, this method does not terminate the application
+     * and instead returns a string response to be displayed in the GUI.
+     *
+     * @param input   The user input command.
+     * @param tasks   The current list of tasks.
+     * @param ui      The user interface for displaying messages.
+     * @param storage The storage handler for saving tasks.
+     * @return A string response representing the result of executing the command.
+     */
+    public static String parseCommandAndReturn(String input, TaskList tasks, Ui ui, Storage storage)
+            throws PookieException {
+        assert input != null : "Input command should not be null";
+        assert tasks != null : "TaskList instance should not be null";
+        assert ui != null : "UI instance should not be null";
+        assert storage != null : "Storage instance should not be null";
 
-        executeCommand(command, argument, tasks, ui, storage);
+        Command command = COMMANDS.parse(input);
+        if (command == null) {
+            Metrics.recordUnknownCommand();
+            return "Pookie doesn't understand... (╥﹏╥)";
+        }
+        return command.executeAndReturn(tasks, ui, storage);
     }
 
-    private static boolean isSimpleCommand(String input, TaskList tasks, Ui ui) {
-        switch (input.toLowerCase()) {
-        case "bye":
-            ui.showGoodbye();
-            System.exit(0);
-            return true;
-        case "list":
-            tasks.printTasks(ui);
-            return true;
-        default:
-            return false;
+    /**
+     * Lists every task, one page of tasks (see {@link ListPage}), or with {@code on DATE} only the tasks on
+     * that date.
+     */
+    private static void handleList(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException {
+        String date = dateArgument(argument);
+        if (date == null) {
+            ListPage page = ListPage.parse(argument, tasks.size());
+            tasks.printTasks(ui, page.getOffset(), page.getLimit(), page.describe(tasks.size()));
+            return;
         }
+        if (date.isEmpty()) {
+            throw new PookieException("Princess, please specify a date in YYYY-MM-DD format.");
+        }
+        handleListByDate(tasks, date, ui);
     }
 
-    private static void executeCommand(String command, String argument, TaskList tasks, Ui ui, Storage storage) throws
-            PookieException {
-        switch (command) {
-        case "mark":
-            handleMarking(argument, tasks, ui, storage, true);
-            break;
-        case "unmark":
-            handleMarking(argument, tasks, ui, storage, false);
-            break;
-        case "delete":
-            handleDeletion(argument, tasks, ui, storage);
-            break;
-        case "list":
-            tasks.printTasks(ui);
-            break;
-        case "list on":
-            if (argument.isEmpty()) {
-                throw new PookieException("Princess, please specify a date in YYYY-MM-DD format.");
+    /**
+     * Returns one page of tasks, by default the first {@value ListPage#DEFAULT_PAGE_SIZE}, so that a huge list
+     * is never rendered into a single response.
+     */
+    private static String handleListAndReturn(String argument, TaskList tasks, Ui ui, Storage storage)
+            throws PookieException {
+        String date = dateArgument(argument);
+        if (date == null) {
+            ListPage page = argument.isEmpty() ? ListPage.first() : ListPage.parse(argument, tasks.size());
+            StringBuilder response = new StringBuilder();
+            response.append("Here are your tasks, Your Highness!\n");
+            TaskCursor cursor = tasks.cursor(page.getOffset());
+            for (int shown = 0; shown < page.getLimit() && cursor.hasNext(); shown++) {
+                int number = cursor.nextNumber();
+                Task task = cursor.next();
+                Ui.appendListed(response.append("\n").append(number).append(". "), task).append("\n");
             }
-            handleListByDate(tasks, argument, ui);
-            break;
-        case "find":
-            tasks.findTasks(argument, ui);
-            break;
-        case "todo":
-            handleTodo(tasks, argument, ui, storage);
-            break;
-        case "deadline":
-            handleDeadline(tasks, argument, ui, storage);
-            break;
-        case "event":
-            handleEvent(tasks, argument, ui, storage);
-            break;
-        case "fixed_duration":
-            handleFixedDurationTask(tasks, argument, ui, storage);
-            break;
-        default:
-            throw new PookieException("Sowwieeee (╥﹏╥) Pookie doesn't understand...");
+            String footer = page.describe(tasks.size());
+            if (footer != null) {
+                response.append("\n").append(footer);
+            }
+            return response.toString();
         }
+        if (date.isEmpty()) {
+            return "Princess, please specify a date in YYYY-MM-DD format.";
+        }
+        return getTasksForDate(tasks, date);
     }
 
-    private static void handleFixedDurationTask(TaskList tasks, String details, Ui ui, Storage storage)
-            throws PookieException {
-        if (details.isEmpty()) {
-            throw new PookieException.EmptyDescriptionException("Princess, the description of a "
-                    + "fixed duration task cannot be empty.");
+    /**
+     * Returns the date of a {@code list on DATE} argument, an empty string if the date is missing, or
+     * {@code null} if the argument does not start with {@code on}.
+     */
+    private static String dateArgument(String argument) {
+        if (!argument.regionMatches(true, 0, "on", 0, 2) || (argument.length() > 2 && argument.charAt(2) != ' ')) {
+            return null;
         }
+        return argument.substring(2).trim();
+    }
 
-        String[] parts = details.split(" /duration ");
-        if (parts.length < 2 || parts[1].trim().isEmpty()) {
-            throw new PookieException.MissingKeywordException("Princess, you must specify the duration using:\n"
-                    + "⏳ Format: '/duration X' (e.g., 'shower /duration 1')");
+    private static String handleFindAndReturn(String keyword, TaskList tasks) {
+        StringBuilder searchResult = new StringBuilder("Searching for tasks with keyword: " + keyword + "\n");
+        ArrayList<Task> matches = tasks.findTasksReturn(keyword);
+        if (matches.isEmpty()) {
+            searchResult.append("Princess, no matching tasks found for '" + keyword + "' 😢");
+        } else {
+            searchResult.append("Here are the matching tasks in your list: ✨\n");
+            for (int i = 0; i < matches.size(); i++) {
+                Ui.appendListed(searchResult.append("\n").append(i + 1).append(". "), matches.get(i));
+            }
         }
+        return searchResult.toString();
+    }
 
-        try {
-            int duration = Integer.parseInt(parts[1].trim());
-            if (duration <= 0) {
-                throw new PookieException("Princess, duration must be a **positive** number greater than **0**.");
-            }
+    /**
+     * Writes the current tasks to a file, in binary if the path ends with {@value BinaryStorage#EXTENSION}
+     * and as text otherwise.
+     */
+    private static String handleExport(String path, TaskList tasks) throws PookieException {
+        if (path.isEmpty()) {
+            throw new PookieException("Princess, please tell me where to export to, e.g. 'export data/backup.bin'.");
+        }
+        List<Task> snapshot = tasks.getTasks();
+        Storage.forPath(path).saveTasks(snapshot);
+        return "Done! I've exported " + snapshot.size() + " tasks to " + path + ".";
+    }
 
-            // Create fixed duration task
-            FixedDurationTask task = new FixedDurationTask(parts[0].trim(), duration);
-            tasks.addTask(task, ui, storage);
-        } catch (NumberFormatException e) {
-            ui.showError("⚠️ OOPS!!! Princess, the duration must be a valid **number** (e.g., '3' for 3 hours).");
+    /**
+     * Converts a task file between the text and binary formats, chosen by each path's extension.
+     */
+    private static String handleConvert(String argument) throws PookieException {
+        String[] paths = argument.split("\\s+");
+        if (paths.length != 2) {
+            throw new PookieException("Princess, please use: convert SOURCE TARGET (e.g. 'convert data/pookie.txt "
+                    + "data/pookie.bin').");
         }
+        ArrayList<Task> converted = Storage.forPath(paths[0]).loadTasks();
+        Storage.forPath(paths[1]).saveTasks(converted);
+        return "Done! I've converted " + converted.size() + " tasks from " + paths[0] + " to " + paths[1] + ".";
     }
 
+    /**
+     * Marks or unmarks the task given by its number in the list, or by its id as {@code #ID}.
+     */
     private static void handleMarking(String argument, TaskList tasks, Ui ui, Storage storage, boolean isMark)
             throws PookieException {
-        int index = parseIndex(argument, tasks);
-        tasks.markTask(index, isMark, ui, storage);
+        Long id = parseId(argument);
+        Task task = id != null
+                ? tasks.markTaskById(id, isMark, ui, storage)
+                : tasks.markTask(parseIndex(argument, tasks), isMark, ui, storage);
         ui.showMessage((isMark ? "Nice! I've marked this task as done:\n" : "OK, I've unmarked this task:\n")
-                + tasks.getTasks().get(index));
+                + task);
     }
 
+    /**
+     * Deletes the task given by its number in the list, or by its id as {@code #ID}.
+     */
     private static void handleDeletion(String argument, TaskList tasks, Ui ui, Storage storage) throws PookieException {
-        int index = parseIndex(argument, tasks);
-        Task removedTask = tasks.getTasks().get(index);
-        tasks.deleteTask(index, ui, storage);
+        Long id = parseId(argument);
+        Task removedTask = id != null
+                ? tasks.deleteTaskById(id, ui, storage)
+                : tasks.deleteTask(parseIndex(argument, tasks), ui, storage);
         ui.showMessage("OK! I've removed this task:\n" + removedTask);
     }
 
     private static int parseIndex(String argument, TaskList tasks) throws PookieException {
         try {
             int index = Integer.parseInt(argument.trim()) - 1;
-            if (index < 0 || index >= tasks.getTasks().size()) {
+            if (index < 0 || index >= tasks.size()) {
                 throw new PookieException("Oops! Please provide a valid task number.");
             }
             return index;
@@ -160,134 +289,18 @@ public class Parser {
     }
 
     /**
-     * Parses the user input command and returns the corresponding response from Pookie.
-     * Unlike {@code parseCommand}, this method does not terminate the application
-     * and instead returns a string response to be displayed in the GUI.
-     *
-     * @param input   The user input command.
-     * @param tasks   The current list of tasks.
-     * @param ui      The user interface for displaying messages.
-     * @param storage The storage handler for saving tasks.
-     * @return A string response representing the result of executing the command.
+     * Returns the id in a {@code #ID} argument, or {@code null} if the argument is a task number instead.
      */
-    public static String parseCommandAndReturn(String input, TaskList tasks, Ui ui, Storage storage)
-            throws PookieException {
-        assert input != null : "Input command should not be null";
-        assert tasks != null : "TaskList instance should not be null";
-        assert ui != null : "UI instance should not be null";
-        assert storage != null : "Storage instance should not be null";
-
-        input = input.trim();
-
-        String simpleResponse = isSimpleCommandAndReturn(input, tasks, ui);
-        if (simpleResponse != null) {
-            return simpleResponse;
-        }
-
-        String command;
-        String argument;
-
-        if (input.startsWith("list on ")) {
-            command = "list on";
-            argument = input.substring(8).trim(); // Extracts the date part after "list on "
-        } else {
-            String[] parts = input.split(" ", 2);
-            command = parts[0].trim().toLowerCase();
-            argument = parts.length > 1 ? parts[1].trim() : "";
+    private static Long parseId(String argument) throws PookieException {
+        String trimmed = argument.trim();
+        if (!trimmed.startsWith("#")) {
+            return null;
         }
-        return executeCommandAndReturn(command, argument, tasks, ui, storage);
-    }
-
-    private static String isSimpleCommandAndReturn(String input, TaskList tasks, Ui ui) {
-        switch (input.toLowerCase()) {
-        case "bye":
-            return "Bye Princess! Pookie hopes to see you again!";
-        case "list":
-            StringBuilder response = new StringBuilder();
-            response.append("Here are your tasks, Your Highness!\n");
-            for (int i = 0; i < tasks.getTasks().size(); i++) {
-                response.append("\n").append(i + 1).append(". ").append(tasks.getTasks().get(i)).append("\n");
-            }
-            return response.toString();
-        default:
-            return null; // Indicating this is not a simple command
-        }
-    }
-
-    private static String executeCommandAndReturn(String command, String argument, TaskList tasks,
-                                                  Ui ui, Storage storage) throws PookieException {
-        StringBuilder response = new StringBuilder();
-
-        switch (command) {
-        case "mark":
-            handleMarking(argument, tasks, ui, storage, true);
-            response.append("Nice! I've marked this task as done.");
-            break;
-        case "unmark":
-            handleMarking(argument, tasks, ui, storage, false);
-            response.append("OK, I've unmarked this task.");
-            break;
-        case "delete":
-            handleDeletion(argument, tasks, ui, storage);
-            response.append("OK! I've removed this task.");
-            break;
-        case "list":
-            if (argument.startsWith("on ")) {
-                String dateArgument = argument.substring(3).trim(); // Remove "on " prefix
-                if (dateArgument.isEmpty()) {
-                    return "Princess, please specify a date in YYYY-MM-DD format.";
-                }
-                return getTasksForDate(tasks, dateArgument);
-            } else {
-                return isSimpleCommandAndReturn("list", tasks, ui); // Default to listing all tasks
-            }
-        case "find":
-            String keyword = argument.trim();
-            StringBuilder searchResult = new StringBuilder("Searching for tasks with keyword: " + keyword + "\n");
-
-            ArrayList<Task> matches = tasks.findTasksReturn(keyword); // ✅ Use the new return method
-
-            if (matches.isEmpty()) {
-                searchResult.append("Princess, no matching tasks found for '" + keyword + "' 😢");
-            } else {
-                searchResult.append("Here are the matching tasks in your list: ✨\n");
-                for (int i = 0; i < matches.size(); i++) {
-                    searchResult.append("\n").append(i + 1).append(". ").append(matches.get(i));
-                }
-            }
-            response.append(searchResult);
-            break;
-        case "list on":
-            if (argument.isEmpty()) {
-                response.append("Princess, please specify a date in YYYY-MM-DD format.");
-            } else {
-                response.append(getTasksForDate(tasks, argument));
-            }
-            break;
-        case "todo":
-            handleTodo(tasks, argument, ui, storage);
-            response.append("Got it! I've added this task:\n")
-                    .append(tasks.getTasks().get(tasks.getTasks().size() - 1));
-            break;
-        case "deadline":
-            handleDeadline(tasks, argument, ui, storage);
-            response.append("Got it! I've added this task:\n")
-                    .append(tasks.getTasks().get(tasks.getTasks().size() - 1));
-            break;
-        case "event":
-            handleEvent(tasks, argument, ui, storage);
-            response.append("Got it! I've added this task:\n")
-                    .append(tasks.getTasks().get(tasks.getTasks().size() - 1));
-            break;
-        case "fixed_duration":
-            handleFixedDurationTask(tasks, argument, ui, storage);
-            response.append("Got it! I've added this task:\n")
-                    .append(tasks.getTasks().get(tasks.getTasks().size() - 1));
-            break;
-        default:
-            response.append("Pookie doesn't understand... (╥﹏╥)");
+        try {
+            return Long.parseLong(trimmed.substring(1));
+        } catch (NumberFormatException e) {
+            throw new PookieException("Oops! Please enter a valid task id, e.g. #12.");
         }
-        return response.toString();
     }
 
     /**
@@ -300,6 +313,28 @@ public class Parser {
     public static Task parseTaskFromLine(String line) throws PookieException {
         assert line != null && !line.isEmpty() : "Task line must not be null or empty";
 
+        if (!Character.isDigit(line.charAt(0))) {
+            return parseTaskFields(line); // Saved before tasks had ids
+        }
+        int idEnd = line.indexOf(" | ");
+        long id;
+        try {
+            id = idEnd < 0 ? 0 : Long.parseLong(line.substring(0, idEnd));
+        } catch (NumberFormatException e) {
+            id = 0;
+        }
+        if (id <= 0) {
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        Task task = parseTaskFields(line.substring(idEnd + 3));
+        task.setId(id);
+        return task;
+    }
+
+    /**
+     * Parses the fields of a saved task that follow its id, e.g. {@code T | 0 | read book}.
+     */
+    private static Task parseTaskFields(String line) throws PookieException {
         String[] parts = line.split(" \\| "); // Split task format
 
         if (parts.length < 3) {
@@ -323,9 +358,7 @@ public class Parser {
                 if (parts.length < 4) {
                     throw new PookieException("Error: Missing deadline date.");
                 }
-                LocalDateTime deadlineDate = LocalDateTime.parse(parts[3],
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
-                Deadline deadline = new Deadline(description, deadlineDate);
+                Deadline deadline = new Deadline(description, DateTimeCodec.parseStorage(parts[3]));
                 if (isDone) {
                     deadline.markDone();
                 }
@@ -335,11 +368,8 @@ public class Parser {
                 if (parts.length < 5) {
                     throw new PookieException("Error: Missing event start and end time.");
                 }
-                LocalDateTime startDate = LocalDateTime.parse(parts[3],
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
-                LocalDateTime endDate = LocalDateTime.parse(parts[4],
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
-                Event event = new Event(description, startDate, endDate);
+                Event event = new Event(description, DateTimeCodec.parseStorage(parts[3]),
+                        DateTimeCodec.parseStorage(parts[4]));
                 if (isDone) {
                     event.markDone();
                 }
@@ -365,20 +395,42 @@ public class Parser {
     }
 
     /**
-     * Handles creation of a ToDo task.
+     * Builds the task described by a {@code todo}, {@code deadline}, {@code event} or {@code fixed_duration}
+     * command line without adding it to any list.
+     *
+     * @param input The command line, e.g. {@code deadline report /by 2025-02-28 2359}.
+     * @return The task the command would add.
+     * @throws PookieException If the line is not a task command or its arguments are invalid.
      */
-    private static void handleTodo(TaskList tasks, String description, Ui ui, Storage storage) throws PookieException {
+    public static Task parseTaskCommand(String input) throws PookieException {
+        Command command = COMMANDS.parse(input);
+        if (command == null) {
+            throw new PookieException("That is not a task command.");
+        }
+        String argument = command.getArgument();
+
+        switch (command.getKeyword()) {
+        case "todo":
+            return createTodo(argument);
+        case "deadline":
+            return createDeadline(argument);
+        case "event":
+            return createEvent(argument);
+        case "fixed_duration":
+            return createFixedDurationTask(argument);
+        default:
+            throw new PookieException("'" + command.getKeyword() + "' is not a task command.");
+        }
+    }
+
+    private static ToDo createTodo(String description) throws PookieException {
         if (description.isEmpty()) {
             throw new PookieException.EmptyDescriptionException("Princess, the description of a todo cannot be empty.");
         }
-        ToDo todoTask = new ToDo(description);
-        tasks.addTask(todoTask, ui, storage);
+        return new ToDo(description);
     }
 
-    /**
-     * Handles creation of a Deadline task.
-     */
-    private static void handleDeadline(TaskList tasks, String details, Ui ui, Storage storage) throws PookieException {
+    private static Deadline createDeadline(String details) throws PookieException {
         if (details.isEmpty()) {
             throw new PookieException.EmptyDescriptionException("Princess, the description of a "
                     + "deadline cannot be empty.");
@@ -391,21 +443,14 @@ public class Parser {
 
         try {
             // Validate date format
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-            LocalDateTime deadlineDate = LocalDateTime.parse(parts[1].trim(), formatter);
-
-            // Create deadline task
-            Deadline deadlineTask = new Deadline(parts[0].trim(), deadlineDate);
-            tasks.addTask(deadlineTask, ui, storage);
+            return new Deadline(parts[0].trim(), DateTimeCodec.parseStorage(parts[1].trim()));
         } catch (DateTimeParseException e) {
-            ui.showError("OOPS!!! Princess, please enter the deadline in the correct format:\n"
+            throw new PookieException("Princess, please enter the deadline in the correct format:\n"
                     + "Format: yyyy-MM-dd HHmm (e.g., 2025-02-28 2359)");
         }
     }
-    /**
-     * Handles creation of an Event task.
-     */
-    private static void handleEvent(TaskList tasks, String details, Ui ui, Storage storage) throws PookieException {
+
+    private static Event createEvent(String details) throws PookieException {
         if (details.isEmpty()) {
             throw new PookieException.EmptyDescriptionException("Princess, the description of "
                     + "an event cannot be empty.");
@@ -416,46 +461,62 @@ public class Parser {
             throw new PookieException.MissingKeywordException("Princess, an event must have both /from and /to times.");
         }
 
+        LocalDateTime startDate;
+        LocalDateTime endDate;
         try {
             // Validate date format
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-            LocalDateTime startDate = LocalDateTime.parse(parts[1].trim(), formatter);
-            LocalDateTime endDate = LocalDateTime.parse(parts[2].trim(), formatter);
-
-            if (endDate.isBefore(startDate)) {
-                throw new PookieException("Princess, the event's end time cannot be **before** the start time.");
-            }
-
-            // Create event task
-            Event eventTask = new Event(parts[0].trim(), startDate, endDate);
-            tasks.addTask(eventTask, ui, storage);
+            startDate = DateTimeCodec.parseStorage(parts[1].trim());
+            endDate = DateTimeCodec.parseStorage(parts[2].trim());
         } catch (DateTimeParseException e) {
-            ui.showError("OOPS!!! Princess, please enter event times in the correct format:\n"
+            throw new PookieException("Princess, please enter event times in the correct format:\n"
                     + "Format: yyyy-MM-dd HHmm (e.g., 2025-02-28 1400 /to 2025-02-28 1600)");
         }
+
+        if (endDate.isBefore(startDate)) {
+            throw new PookieException("Princess, the event's end time cannot be **before** the start time.");
+        }
+        return new Event(parts[0].trim(), startDate, endDate);
+    }
+
+    private static FixedDurationTask createFixedDurationTask(String details) throws PookieException {
+        if (details.isEmpty()) {
+            throw new PookieException.EmptyDescriptionException("Princess, the description of a "
+                    + "fixed duration task cannot be empty.");
+        }
+
+        String[] parts = details.split(" /duration ");
+        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+            throw new PookieException.MissingKeywordException("Princess, you must specify the duration using:\n"
+                    + "⏳ Format: '/duration X' (e.g., 'shower /duration 1')");
+        }
+
+        int duration;
+        try {
+            duration = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new PookieException("Princess, the duration must be a valid **number** (e.g., '3' for 3 hours).");
+        }
+        if (duration <= 0) {
+            throw new PookieException("Princess, duration must be a **positive** number greater than **0**.");
+        }
+        return new FixedDurationTask(parts[0].trim(), duration);
     }
 
     /**
-     * Lists tasks occurring on a specific date.
+     * Lists deadlines due and events taking place on a specific date.
      */
     private static void handleListByDate(TaskList tasks, String dateStr, Ui ui) {
         try {
-            LocalDate searchDate = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            StringBuilder response = new StringBuilder("Here are the tasks on ")
-                    .append(searchDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"))).append(":\n");
-
-            boolean hasTasks = false;
-            for (Task task : tasks.getTasks()) {
-                if (task instanceof Deadline && ((Deadline) task).getByDate().toLocalDate().equals(searchDate)) {
-                    response.append("\n- ").append(task);
-                    hasTasks = true;
-                } else if (task instanceof Event && ((Event) task).getStartDate().toLocalDate().equals(searchDate)) {
-                    response.append("\n- ").append(task);
-                    hasTasks = true;
-                }
+            LocalDate searchDate = DateTimeCodec.parseDate(dateStr.trim());
+            StringBuilder response = DateTimeCodec.appendDisplayDate(new StringBuilder("Here are the tasks on "),
+                    searchDate).append(":\n");
+
+            ArrayList<Task> tasksOnDate = tasks.getTasksOn(searchDate);
+            for (Task task : tasksOnDate) {
+                Ui.appendListed(response.append("\n- "), task);
             }
 
-            if (!hasTasks) {
+            if (tasksOnDate.isEmpty()) {
                 response.append("\nNo tasks found for this date, Princess! ❌");
             }
             ui.showMessage(response.toString());
@@ -467,22 +528,16 @@ public class Parser {
 
     private static String getTasksForDate(TaskList tasks, String dateStr) {
         try {
-            LocalDate searchDate = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            StringBuilder response = new StringBuilder("Here are the tasks on ")
-                    .append(searchDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"))).append(":\n");
-
-            boolean hasTasks = false;
-            for (Task task : tasks.getTasks()) {
-                if (task instanceof Deadline && ((Deadline) task).getByDate().toLocalDate().equals(searchDate)) {
-                    response.append("\n- ").append(task);
-                    hasTasks = true;
-                } else if (task instanceof Event && ((Event) task).getStartDate().toLocalDate().equals(searchDate)) {
-                    response.append("\n- ").append(task);
-                    hasTasks = true;
-                }
+            LocalDate searchDate = DateTimeCodec.parseDate(dateStr.trim());
+            StringBuilder response = DateTimeCodec.appendDisplayDate(new StringBuilder("Here are the tasks on "),
+                    searchDate).append(":\n");
+
+            ArrayList<Task> tasksOnDate = tasks.getTasksOn(searchDate);
+            for (Task task : tasksOnDate) {
+                Ui.appendListed(response.append("\n- "), task);
             }
 
-            if (!hasTasks) {
+            if (tasksOnDate.isEmpty()) {
                 response.append("\nNo tasks found for this date, Princess! ❌");
             }
             return response.toString();
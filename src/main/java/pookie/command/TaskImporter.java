@@ -0,0 +1,93 @@
+package pookie.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.task.Task;
+
+/**
+ * Imports a file of {@code todo}, {@code deadline}, {@code event} and {@code fixed_duration} command lines in
+ * one pass.
+ * <p>
+ * Every line is validated first; the valid tasks are then appended to the list in a single operation and
+ * saved once. Blank lines and lines starting with {@code #} are skipped. Invalid lines are reported with their
+ * line numbers and do not stop the import.
+ */
+public class TaskImporter {
+    /** Most per-line errors listed in the summary; the rest are only counted. */
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    /**
+     * Imports the task commands in {@code path} into {@code tasks}.
+     *
+     * @param path    The file of task commands, one per line.
+     * @param tasks   The list to append the imported tasks to.
+     * @param storage The storage to persist the list with.
+     * @return A summary of how many tasks were imported and which lines were rejected.
+     * @throws PookieException If the file cannot be read or the tasks cannot be saved.
+     */
+    public static String importFile(String path, TaskList tasks, Storage storage) throws PookieException {
+        if (path.isEmpty()) {
+            throw new PookieException("Princess, please tell me which file to import, e.g. 'import tasks.txt'.");
+        }
+
+        ArrayList<Task> imported = new ArrayList<>();
+        ArrayList<String> errors = new ArrayList<>();
+        int errorCount = 0;
+        Path file = Paths.get(path);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    imported.add(Parser.parseTaskCommand(trimmed));
+                } catch (PookieException e) {
+                    errorCount++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("Line " + lineNumber + ": " + e.getMessage().replace('\n', ' '));
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new PookieException("Princess, I can't find the file " + path + ".");
+        } catch (IOException e) {
+            throw new PookieException("Error reading " + path + ": " + e.getMessage());
+        }
+
+        if (!imported.isEmpty()) {
+            tasks.addTasks(imported, storage);
+        }
+        return summarize(path, imported.size(), errorCount, errors);
+    }
+
+    private static String summarize(String path, int importedCount, int errorCount, ArrayList<String> errors) {
+        StringBuilder summary = new StringBuilder("Done! I've imported ").append(importedCount)
+                .append(" tasks from ").append(path).append(".");
+        if (errorCount == 0) {
+            return summary.toString();
+        }
+        summary.append("\n").append(errorCount).append(errorCount == 1 ? " line was" : " lines were")
+                .append(" skipped:");
+        for (String error : errors) {
+            summary.append("\n").append(error);
+        }
+        if (errorCount > errors.size()) {
+            summary.append("\n...and ").append(errorCount - errors.size()).append(" more.");
+        }
+        return summary.toString();
+    }
+}
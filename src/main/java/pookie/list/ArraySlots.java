@@ -0,0 +1,70 @@
+package pookie.list;
+
+import pookie.task.Task;
+import pookie.task.TaskType;
+
+/**
+ * Slots for {@link TaskLayout#OBJECTS}: an array holding the task objects themselves.
+ */
+final class ArraySlots implements TaskSlots {
+    private final Task[] tasks;
+
+    ArraySlots(int capacity) {
+        tasks = new Task[capacity];
+    }
+
+    @Override
+    public int capacity() {
+        return tasks.length;
+    }
+
+    @Override
+    public Task get(int slot) {
+        return tasks[slot];
+    }
+
+    @Override
+    public void set(int slot, Task task) {
+        tasks[slot] = task;
+    }
+
+    @Override
+    public void copyTo(int slot, TaskSlots target, int targetSlot) {
+        target.set(targetSlot, tasks[slot]);
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        if (isDone) {
+            tasks[slot].markDone();
+        } else {
+            tasks[slot].markNotDone();
+        }
+    }
+
+    @Override
+    public long getId(int slot) {
+        return tasks[slot].getId();
+    }
+
+    @Override
+    public TaskType getType(int slot) {
+        return tasks[slot].getType();
+    }
+
+    @Override
+    public boolean containsIgnoreCase(int slot, String lowerKeyword) {
+        return tasks[slot].getDescription().toLowerCase().contains(lowerKeyword);
+    }
+
+    @Override
+    public boolean isOn(int slot, long dayStart) {
+        Task task = tasks[slot];
+        return TaskSlots.isOn(task.getType(), TaskSlots.startOf(task), TaskSlots.endOf(task), dayStart);
+    }
+
+    @Override
+    public TaskSlots create(int capacity) {
+        return new ArraySlots(capacity);
+    }
+}
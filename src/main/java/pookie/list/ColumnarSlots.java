@@ -0,0 +1,155 @@
+package pookie.list;
+
+import java.util.Arrays;
+
+import pookie.task.Task;
+import pookie.task.TaskType;
+
+/**
+ * Slots for {@link TaskLayout#COLUMNAR}: each field of the tasks in its own primitive array, indexed by slot,
+ * rather than an object per task.
+ * <ul>
+ *     <li>{@code types} holds the ordinal of each task's {@link TaskType}, and {@code done} its status, as one
+ *     byte per task so that marking a task is a single write that readers of the same slots can never see
+ *     half done.</li>
+ *     <li>{@code starts} holds the due date-time of a deadline or the start of an event, and {@code ends} the
+ *     end of an event, as epoch minutes.</li>
+ *     <li>{@code durations} holds the hours of a fixed-duration task.</li>
+ *     <li>Descriptions are stored back to back in one {@code char} buffer; the description of slot {@code s}
+ *     runs from {@code descriptionOffsets[s]} to {@code descriptionOffsets[s + 1]}.</li>
+ * </ul>
+ * A task takes about 35 bytes plus two per character of its description, against a few hundred for a task
+ * object with its dates, description and display string. {@link #get(int)} builds a task object from the
+ * slot's fields each time it is called, so only the tasks being looked at are objects, and only for as long as
+ * they are looked at.
+ */
+final class ColumnarSlots implements TaskSlots {
+    private static final TaskType[] TYPES = TaskType.values();
+    /** Characters of buffer allotted per slot up front, which is about the length of a typical description. */
+    private static final int CHARS_PER_SLOT = 24;
+
+    private final byte[] types;
+    private final byte[] done;
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] durations;
+    private final int[] descriptionOffsets;
+    /** Replaced by a larger copy when full, after which readers must see the copy's contents. */
+    private volatile char[] descriptions;
+
+    ColumnarSlots(int capacity) {
+        types = new byte[capacity];
+        done = new byte[capacity];
+        ids = new long[capacity];
+        starts = new long[capacity];
+        ends = new long[capacity];
+        durations = new int[capacity];
+        descriptionOffsets = new int[capacity + 1];
+        descriptions = new char[capacity * CHARS_PER_SLOT];
+    }
+
+    @Override
+    public int capacity() {
+        return types.length;
+    }
+
+    @Override
+    public Task get(int slot) {
+        char[] buffer = descriptions;
+        int from = descriptionOffsets[slot];
+        String description = new String(buffer, from, descriptionOffsets[slot + 1] - from);
+        return TaskSlots.newTask(TYPES[types[slot]], description, starts[slot], ends[slot], durations[slot],
+                ids[slot], done[slot] != 0);
+    }
+
+    @Override
+    public void set(int slot, Task task) {
+        types[slot] = (byte) task.getType().ordinal();
+        done[slot] = (byte) (task.isDone() ? 1 : 0);
+        ids[slot] = task.getId();
+        starts[slot] = TaskSlots.startOf(task);
+        ends[slot] = TaskSlots.endOf(task);
+        durations[slot] = TaskSlots.durationOf(task);
+        String description = task.getDescription();
+        int from = descriptionOffsets[slot];
+        char[] buffer = reserve(from, description.length());
+        description.getChars(0, description.length(), buffer, from);
+        descriptionOffsets[slot + 1] = from + description.length();
+    }
+
+    @Override
+    public void copyTo(int slot, TaskSlots target, int targetSlot) {
+        ColumnarSlots columns = (ColumnarSlots) target;
+        columns.types[targetSlot] = types[slot];
+        columns.done[targetSlot] = done[slot];
+        columns.ids[targetSlot] = ids[slot];
+        columns.starts[targetSlot] = starts[slot];
+        columns.ends[targetSlot] = ends[slot];
+        columns.durations[targetSlot] = durations[slot];
+        int from = descriptionOffsets[slot];
+        int length = descriptionOffsets[slot + 1] - from;
+        int targetFrom = columns.descriptionOffsets[targetSlot];
+        System.arraycopy(descriptions, from, columns.reserve(targetFrom, length), targetFrom, length);
+        columns.descriptionOffsets[targetSlot + 1] = targetFrom + length;
+    }
+
+    /**
+     * Returns the description buffer, first replaced by a larger copy if it has no room for {@code length}
+     * characters at {@code from}.
+     */
+    private char[] reserve(int from, int length) {
+        char[] buffer = descriptions;
+        if (from + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(from + length, buffer.length + buffer.length / 2));
+            descriptions = buffer;
+        }
+        return buffer;
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        done[slot] = (byte) (isDone ? 1 : 0);
+    }
+
+    @Override
+    public long getId(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public TaskType getType(int slot) {
+        return TYPES[types[slot]];
+    }
+
+    /**
+     * {@inheritDoc} The description is compared character by character, without building a string.
+     */
+    @Override
+    public boolean containsIgnoreCase(int slot, String lowerKeyword) {
+        char[] buffer = descriptions;
+        int keywordLength = lowerKeyword.length();
+        int last = descriptionOffsets[slot + 1] - keywordLength;
+        for (int from = descriptionOffsets[slot]; from <= last; from++) {
+            int matched = 0;
+            while (matched < keywordLength
+                    && Character.toLowerCase(buffer[from + matched]) == lowerKeyword.charAt(matched)) {
+                matched++;
+            }
+            if (matched == keywordLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isOn(int slot, long dayStart) {
+        return TaskSlots.isOn(TYPES[types[slot]], starts[slot], ends[slot], dayStart);
+    }
+
+    @Override
+    public TaskSlots create(int capacity) {
+        return new ColumnarSlots(capacity);
+    }
+}
@@ -0,0 +1,206 @@
+package pookie.list;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.Task;
+
+/**
+ * An index from calendar dates to the deadlines and events that fall on them, used to answer
+ * {@code list on} queries without scanning every task.
+ * <p>
+ * A deadline is bucketed under its due date. An event is bucketed under every day from its start date to its
+ * end date, so a query also finds events that span the date. Events longer than {@value #MAX_BUCKETED_DAYS}
+ * days are instead bucketed under the few aligned blocks of 2, 4, 8, ... days that exactly cover their span, as in
+ * a segment tree, so each is held O(log length) times. Every block holding a given day is a different size, so a
+ * query looks up one block per size and finds exactly the long events that cover the date, never ones that
+ * ended before it. Results come back in list order, including for a removed task that is
+ * {@linkplain #restore(Task) restored} to its old place.
+ */
+public class DateIndex {
+    /** Longest event, in days, that is copied into every day bucket it covers. */
+    static final int MAX_BUCKETED_DAYS = 31;
+    /** Largest block size as a power of two, which covers more than the whole range of {@link LocalDate}. */
+    private static final int MAX_LEVEL = 40;
+
+    private final HashMap<LocalDate, LinkedHashSet<Task>> buckets = new HashMap<>();
+    /** Long events by block, keyed as in {@link #blockKey(long, int)}. */
+    private final HashMap<Long, LinkedHashSet<Event>> longEventBlocks = new HashMap<>();
+    /** Largest block size, as a power of two, that any long event has been bucketed under. */
+    private int maxLevel;
+    private final IdentityHashMap<Task, Long> order = new IdentityHashMap<>();
+    /** Places in list order of removed tasks, for {@link #restore(Task)}. */
+    private final IdentityHashMap<Task, Long> removedOrder = new IdentityHashMap<>();
+    private long nextOrder;
+
+    /**
+     * Constructs an index over {@code tasks}, in list order.
+     */
+    public DateIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task appended to the end of the list. Tasks without dates are ignored.
+     */
+    public void add(Task task) {
+        if (task instanceof Deadline || task instanceof Event) {
+            index(task, nextOrder++);
+        }
+    }
+
+    /**
+     * Indexes {@code task} again in the place in list order it had before it was removed.
+     *
+     * @return Whether the task could be restored, which it cannot once the index has been told to
+     *     {@linkplain #forgetRemoved() forget} it. A task without dates is never indexed, so it always can.
+     */
+    public boolean restore(Task task) {
+        if (!(task instanceof Deadline || task instanceof Event)) {
+            return true;
+        }
+        Long oldOrder = removedOrder.remove(task);
+        if (oldOrder == null) {
+            return false;
+        }
+        index(task, oldOrder);
+        return true;
+    }
+
+    /**
+     * Stops keeping the places of removed tasks for {@link #restore(Task)}, once they can no longer be restored.
+     */
+    public void forgetRemoved() {
+        removedOrder.clear();
+    }
+
+    private void index(Task task, long taskOrder) {
+        order.put(task, taskOrder);
+        if (task instanceof Deadline) {
+            bucket(((Deadline) task).getByDate().toLocalDate()).add(task);
+        } else {
+            Event event = (Event) task;
+            LocalDate start = event.getStartDate().toLocalDate();
+            LocalDate end = lastDay(event);
+            if (ChronoUnit.DAYS.between(start, end) >= MAX_BUCKETED_DAYS) {
+                forEachBlock(start, end, key -> longEventBlocks.computeIfAbsent(key, k -> new LinkedHashSet<>())
+                        .add(event));
+                return;
+            }
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                bucket(day).add(task);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     */
+    public void remove(Task task) {
+        Long taskOrder = order.remove(task);
+        if (taskOrder == null) {
+            return;
+        }
+        removedOrder.put(task, taskOrder);
+        if (task instanceof Deadline) {
+            unbucket(((Deadline) task).getByDate().toLocalDate(), task);
+            return;
+        }
+        Event event = (Event) task;
+        LocalDate start = event.getStartDate().toLocalDate();
+        LocalDate end = lastDay(event);
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_BUCKETED_DAYS) {
+            forEachBlock(start, end, key -> {
+                LinkedHashSet<Event> events = longEventBlocks.get(key);
+                events.remove(event);
+                if (events.isEmpty()) {
+                    longEventBlocks.remove(key);
+                }
+            });
+            return;
+        }
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            unbucket(day, task);
+        }
+    }
+
+    /**
+     * Returns the deadlines due on {@code date} and the events that start, end or are ongoing on it,
+     * in list order.
+     */
+    public ArrayList<Task> tasksOn(LocalDate date) {
+        ArrayList<Task> matches = new ArrayList<>(buckets.getOrDefault(date, new LinkedHashSet<>()));
+        if (!longEventBlocks.isEmpty()) {
+            long day = date.toEpochDay();
+            for (int level = 0; level <= maxLevel; level++) {
+                LinkedHashSet<Event> events = longEventBlocks.get(blockKey(day >> level, level));
+                if (events != null) {
+                    matches.addAll(events);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingLong(order::get));
+        return matches;
+    }
+
+    /**
+     * Calls {@code action} with the key of each block in the fewest aligned blocks of 2<sup>level</sup> days that
+     * together cover {@code start} to {@code end} exactly. Each block is as large as both its alignment and the
+     * days left allow, so there are at most two of each size.
+     */
+    private void forEachBlock(LocalDate start, LocalDate end, LongConsumer action) {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay() + 1;
+        while (from < to) {
+            int level = Math.min(Long.numberOfTrailingZeros(from), MAX_LEVEL);
+            while (from + (1L << level) > to) {
+                level--;
+            }
+            maxLevel = Math.max(maxLevel, level);
+            action.accept(blockKey(from >> level, level));
+            from += 1L << level;
+        }
+    }
+
+    /**
+     * Returns the key of block {@code block} of 2<sup>level</sup> days, which covers epoch days
+     * {@code block << level} to {@code ((block + 1) << level) - 1}.
+     */
+    private static long blockKey(long block, int level) {
+        return block << 6 | level;
+    }
+
+    /**
+     * Returns the last day of an event, treating an end before the start as a single-day event.
+     */
+    private static LocalDate lastDay(Event event) {
+        LocalDate start = event.getStartDate().toLocalDate();
+        LocalDate end = event.getEndDate().toLocalDate();
+        return end.isBefore(start) ? start : end;
+    }
+
+    private LinkedHashSet<Task> bucket(LocalDate date) {
+        return buckets.computeIfAbsent(date, key -> new LinkedHashSet<>());
+    }
+
+    private void unbucket(LocalDate date, Task task) {
+        LinkedHashSet<Task> bucket = buckets.get(date);
+        if (bucket != null) {
+            bucket.remove(task);
+            if (bucket.isEmpty()) {
+                buckets.remove(date);
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package pookie.list;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+import pookie.command.Parser;
+import pookie.exception.PookieException;
+import pookie.task.Task;
+
+/**
+ * The undo and redo stacks of a {@link TaskList}, as a bounded log of operations rather than copies of the list.
+ * Each operation knows its inverse (adding a task at an index and deleting it, marking and unmarking), so
+ * undoing or redoing a step costs one list update, and the history takes memory in proportion to its depth
+ * whatever the size of the list. Undoing a deletion puts the task back in the slot it was deleted from, which
+ * the list keeps as a tombstone until it next compacts, so it copies neither the list nor its indexes.
+ * <p>
+ * The undo and redo stacks together hold at most {@code depth} operations; recording beyond that forgets the
+ * oldest one. A history opened with {@link #open(String, int)} is also kept in a log file next to the task
+ * file, so that it survives a restart. Every change appends one line to the log:
+ * <ul>
+ *     <li>{@code A <index> <task>}, {@code D <index> <task>} or {@code M <index> <0|1> <task>} - an operation
+ *     was recorded; {@code <task>} is in the task file format.</li>
+ *     <li>{@code <} or {@code >} - the latest operation was undone or redone.</li>
+ *     <li>{@code !} - the history was cleared.</li>
+ * </ul>
+ * Opening replays the log, stopping at the first line that cannot be read, and rewrites it with only the
+ * operations still held. The log is rewritten the same way whenever it has grown to a few times the depth, so
+ * replaying it stays cheap.
+ */
+public class History {
+    /** Default number of operations that can be undone. */
+    public static final int DEFAULT_DEPTH = 100;
+
+    private static final char ADD = 'A';
+    private static final char DELETE = 'D';
+    private static final char MARK = 'M';
+    private static final char UNDO = '<';
+    private static final char REDO = '>';
+    private static final char CLEAR = '!';
+    /** The log is rewritten once it holds this many times more lines than the history could need. */
+    private static final int COMPACT_FACTOR = 4;
+
+    private final int depth;
+    private final ArrayDeque<Operation> undoable = new ArrayDeque<>();
+    private final ArrayDeque<Operation> redoable = new ArrayDeque<>();
+    private File logFile;
+    private int logLines;
+
+    /**
+     * Constructs an empty history kept in memory only.
+     *
+     * @param depth The number of operations that can be undone.
+     */
+    public History(int depth) {
+        assert depth > 0 : "History must hold at least one operation";
+        this.depth = depth;
+    }
+
+    /**
+     * Opens the history logged in {@code path}, or an empty one if there is no such file. A log that cannot be
+     * read or written is reported on stderr, and the history is then kept in memory only.
+     *
+     * @param depth The number of operations that can be undone.
+     */
+    public static History open(String path, int depth) {
+        History history = new History(depth);
+        File logFile = new File(path);
+        if (logFile.exists()) {
+            try {
+                history.replay(Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                history.disableLog(e);
+                return history;
+            }
+        }
+        history.logFile = logFile; // Only now, so that replaying does not append to the log being read
+        history.compact();
+        return history;
+    }
+
+    /**
+     * Returns the number of operations that can be undone.
+     */
+    public int undoableCount() {
+        return undoable.size();
+    }
+
+    /**
+     * Returns the number of operations that can be redone.
+     */
+    public int redoableCount() {
+        return redoable.size();
+    }
+
+    /**
+     * Records an operation that has just been applied, forgetting everything that could be redone.
+     */
+    void record(Operation operation) {
+        redoable.clear();
+        undoable.push(operation);
+        while (undoable.size() > depth) {
+            undoable.removeLast();
+        }
+        log(operation.toLogLine());
+    }
+
+    /**
+     * Returns the operation that {@code undo} would revert, or {@code null} if there is none.
+     */
+    Operation peekUndo() {
+        return undoable.peek();
+    }
+
+    /**
+     * Returns the operation that {@code redo} would apply again, or {@code null} if there is none.
+     */
+    Operation peekRedo() {
+        return redoable.peek();
+    }
+
+    /**
+     * Moves the latest operation to the redo stack, once it has been reverted.
+     */
+    void undone() {
+        redoable.push(undoable.pop());
+        log(String.valueOf(UNDO));
+    }
+
+    /**
+     * Moves the operation last undone back to the undo stack, once it has been applied again.
+     */
+    void redone() {
+        undoable.push(redoable.pop());
+        log(String.valueOf(REDO));
+    }
+
+    /**
+     * Forgets every operation, e.g. after a change that cannot be undone.
+     */
+    void clear() {
+        if (undoable.isEmpty() && redoable.isEmpty()) {
+            return;
+        }
+        undoable.clear();
+        redoable.clear();
+        log(String.valueOf(CLEAR));
+    }
+
+    private void replay(List<String> lines) {
+        for (String line : lines) {
+            try {
+                switch (line.isEmpty() ? ' ' : line.charAt(0)) {
+                case UNDO:
+                    undone();
+                    break;
+                case REDO:
+                    redone();
+                    break;
+                case CLEAR:
+                    clear();
+                    break;
+                default:
+                    record(Operation.fromLogLine(line));
+                    break;
+                }
+            } catch (PookieException | RuntimeException e) {
+                return; // A torn or corrupted line: keep the history up to it
+            }
+        }
+    }
+
+    private void log(String line) {
+        if (logFile == null) {
+            return;
+        }
+        if (++logLines > COMPACT_FACTOR * depth) {
+            compact();
+            return;
+        }
+        try {
+            Files.write(logFile.toPath(), List.of(line), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            disableLog(e);
+        }
+    }
+
+    /**
+     * Rewrites the log as the operations that can be undone, oldest first, then the ones that can be redone,
+     * each followed by an undo line.
+     */
+    private void compact() {
+        StringBuilder log = new StringBuilder();
+        int lines = 0;
+        for (Iterator<Operation> it = undoable.descendingIterator(); it.hasNext(); lines++) {
+            log.append(it.next().toLogLine()).append('\n');
+        }
+        for (Operation operation : redoable) {
+            log.append(operation.toLogLine()).append('\n');
+            lines++;
+        }
+        for (int i = 0; i < redoable.size(); i++, lines++) {
+            log.append(UNDO).append('\n');
+        }
+        try {
+            if (logFile.getParentFile() != null) {
+                logFile.getParentFile().mkdirs();
+            }
+            File temp = new File(logFile.getPath() + ".tmp");
+            Files.writeString(temp.toPath(), log, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            logLines = lines;
+        } catch (IOException e) {
+            disableLog(e);
+        }
+    }
+
+    private void disableLog(IOException e) {
+        System.err.println("Undo history will not be saved: " + e.getMessage());
+        logFile = null;
+    }
+
+    /**
+     * One change to a task list: adding a task at an index, deleting the task at an index, or setting the done
+     * status of the task at an index.
+     */
+    static final class Operation {
+        private final char kind;
+        private final int index;
+        private final Task task;
+        private final boolean isDone;
+
+        private Operation(char kind, int index, Task task, boolean isDone) {
+            this.kind = kind;
+            this.index = index;
+            this.task = task;
+            this.isDone = isDone;
+        }
+
+        static Operation added(int index, Task task) {
+            return new Operation(ADD, index, task, false);
+        }
+
+        static Operation deleted(int index, Task task) {
+            return new Operation(DELETE, index, task, false);
+        }
+
+        static Operation marked(int index, Task task, boolean isDone) {
+            return new Operation(MARK, index, task, isDone);
+        }
+
+        /**
+         * Returns the operation that reverts this one.
+         */
+        Operation inverse() {
+            switch (kind) {
+            case ADD:
+                return deleted(index, task);
+            case DELETE:
+                return added(index, task);
+            default:
+                return marked(index, task, !isDone);
+            }
+        }
+
+        boolean isAddition() {
+            return kind == ADD;
+        }
+
+        boolean isDeletion() {
+            return kind == DELETE;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        Task getTask() {
+            return task;
+        }
+
+        boolean isDone() {
+            return isDone;
+        }
+
+        /**
+         * Returns whether {@code other} is this operation's task: the task with the same id or, for tasks saved
+         * without ids, the task equal in everything but its done status.
+         */
+        boolean isSameTask(Task other) {
+            if (other == task || (other.getId() != 0 && task.getId() != 0)) {
+                return other.getId() == task.getId();
+            }
+            return withoutStatus(task).equals(withoutStatus(other));
+        }
+
+        /**
+         * Returns the file format of {@code task} without its id and done flag.
+         */
+        private static String withoutStatus(Task task) {
+            String line = task.toFileFormat();
+            int typeStart = task.getId() == 0 ? 0 : line.indexOf(" | ") + 3;
+            // The type is followed by " | <done>", whose flag is skipped
+            return line.charAt(typeStart) + line.substring(typeStart + 5);
+        }
+
+        /**
+         * Describes what this operation does, e.g. {@code adding this task:} followed by the task.
+         */
+        String describe() {
+            switch (kind) {
+            case ADD:
+                return "adding this task:\n" + task;
+            case DELETE:
+                return "deleting this task:\n" + task;
+            default:
+                return (isDone ? "marking" : "unmarking") + " this task:\n" + task;
+            }
+        }
+
+        String toLogLine() {
+            return kind + " " + index + " " + (kind == MARK ? (isDone ? "1 " : "0 ") : "") + task.toFileFormat();
+        }
+
+        static Operation fromLogLine(String line) throws PookieException {
+            String[] parts = line.split(" ", line.charAt(0) == MARK ? 4 : 3);
+            int index = Integer.parseInt(parts[1]);
+            Task task = Parser.parseTaskFromLine(parts[parts.length - 1]);
+            switch (line.charAt(0)) {
+            case ADD:
+                return added(index, task);
+            case DELETE:
+                return deleted(index, task);
+            case MARK:
+                return marked(index, task, parts[2].equals("1"));
+            default:
+                throw new PookieException("Unknown history record: " + line);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package pookie.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import pookie.task.DescriptionPool;
+import pookie.task.Task;
+
+/**
+ * An incremental inverted index from the lowercase character n-grams of task descriptions, of one to three
+ * characters, to posting lists of internal task ids, used to answer {@code find} without scanning every task.
+ * <p>
+ * Ids are handed out in insertion order, so posting lists stay sorted and results come back in list order.
+ * A keyword of three or more characters is answered by intersecting the postings of its trigrams and then
+ * verifying each candidate. A keyword of one or two characters is itself a gram, so its postings are exactly the
+ * tasks that contain it. Indexing the shorter grams roughly triples the postings, for {@code find} results that
+ * cost the number of matches rather than the number of tasks whatever the keyword.
+ * Deleted tasks are tombstoned and dropped from the postings when the index is rebuilt. Until then, or until
+ * {@link #forgetRemoved()}, a deleted task can be {@linkplain #restore(Task) restored} to its old place.
+ */
+public class KeywordIndex {
+    private static final int GRAM = 3;
+    /** Minimum number of tombstones before a rebuild is considered. */
+    private static final int MIN_REBUILD_TOMBSTONES = 1024;
+
+    private final HashMap<Long, Postings> postings = new HashMap<>();
+    private final IdentityHashMap<Task, Integer> ids = new IdentityHashMap<>();
+    /** Ids of removed tasks whose postings are still in place, for {@link #restore(Task)}. */
+    private final IdentityHashMap<Task, Integer> removedIds = new IdentityHashMap<>();
+    private final ArrayList<Task> tasksById = new ArrayList<>();
+    private final ArrayList<String> lowerDescriptions = new ArrayList<>();
+    private int tombstones;
+
+    /**
+     * Constructs an index over {@code tasks}, in list order.
+     */
+    public KeywordIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Indexes a task appended to the end of the list.
+     */
+    public void add(Task task) {
+        int id = tasksById.size();
+        String lower = DescriptionPool.intern(task.getDescription().toLowerCase());
+        ids.put(task, id);
+        tasksById.add(task);
+        lowerDescriptions.add(lower);
+        for (int length = 1; length <= GRAM; length++) {
+            for (int i = 0; i + length <= lower.length(); i++) {
+                postings.computeIfAbsent(gramAt(lower, i, length), key -> new Postings()).append(id);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     */
+    public void remove(Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+        tasksById.set(id, null);
+        lowerDescriptions.set(id, null);
+        removedIds.put(task, id);
+        tombstones++;
+        if (tombstones >= MIN_REBUILD_TOMBSTONES && tombstones > ids.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Indexes {@code task} again where it was before it was removed, so that it comes back in its old place in
+     * results. Its postings were never dropped, so this takes constant time.
+     *
+     * @return Whether the task could be restored, which it cannot once the index has been rebuilt or told to
+     *     {@linkplain #forgetRemoved() forget} it.
+     */
+    public boolean restore(Task task) {
+        Integer id = removedIds.remove(task);
+        if (id == null) {
+            return false;
+        }
+        ids.put(task, id);
+        tasksById.set(id, task);
+        lowerDescriptions.set(id, DescriptionPool.intern(task.getDescription().toLowerCase()));
+        tombstones--;
+        return true;
+    }
+
+    /**
+     * Stops keeping the removed tasks for {@link #restore(Task)}, once they can no longer be restored.
+     */
+    public void forgetRemoved() {
+        removedIds.clear();
+    }
+
+    /**
+     * Returns the tasks whose description contains {@code keyword}, ignoring case, in list order.
+     */
+    public ArrayList<Task> find(String keyword) {
+        String lower = keyword.toLowerCase();
+        ArrayList<Task> matches = new ArrayList<>();
+        if (lower.isEmpty()) {
+            for (int id = 0; id < tasksById.size(); id++) {
+                addIfMatches(id, lower, matches);
+            }
+            return matches;
+        }
+        if (lower.length() < GRAM) {
+            Postings exact = postings.get(gramAt(lower, 0, lower.length()));
+            for (int k = 0; exact != null && k < exact.size; k++) {
+                Task task = tasksById.get(exact.ids[k]);
+                if (task != null) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        }
+
+        Postings[] lists = new Postings[lower.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(gramAt(lower, i, GRAM));
+            if (lists[i] == null) {
+                return matches;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        Postings smallest = lists[0];
+        for (int k = 0; k < smallest.size; k++) {
+            int id = smallest.ids[k];
+            boolean isCandidate = true;
+            for (int j = 1; j < lists.length && isCandidate; j++) {
+                isCandidate = lists[j].contains(id);
+            }
+            if (isCandidate) {
+                addIfMatches(id, lower, matches);
+            }
+        }
+        return matches;
+    }
+
+    private void addIfMatches(int id, String lowerKeyword, ArrayList<Task> matches) {
+        String description = lowerDescriptions.get(id);
+        if (description != null && description.contains(lowerKeyword)) {
+            matches.add(tasksById.get(id));
+        }
+    }
+
+    /**
+     * Reassigns dense ids to the live tasks and rebuilds every posting list without tombstones.
+     */
+    private void rebuild() {
+        ArrayList<Task> live = new ArrayList<>(ids.size());
+        for (Task task : tasksById) {
+            if (task != null) {
+                live.add(task);
+            }
+        }
+        postings.clear();
+        ids.clear();
+        removedIds.clear();
+        tasksById.clear();
+        lowerDescriptions.clear();
+        tombstones = 0;
+        for (Task task : live) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns the key of the {@code length}-character gram at {@code index}: its length, then its characters,
+     * 16 bits each, so that grams of different lengths never share a key.
+     */
+    private static long gramAt(String text, int index, int length) {
+        long key = length;
+        for (int i = index; i < index + length; i++) {
+            key = (key << 16) | text.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * A growable, sorted list of ids. Ids are only ever appended in increasing order.
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void append(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return; // The same gram occurs twice in one description
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package pookie.list;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import pookie.task.Task;
+import pookie.task.TaskType;
+
+/**
+ * Slots for {@link TaskLayout#OFF_HEAP}: the tasks' fields in direct buffers, outside the Java heap, so that
+ * however long the list grows the garbage collector has nothing more to trace or copy.
+ * <p>
+ * Each slot is a fixed-width record of {@value #RECORD_WIDTH} bytes in one buffer:
+ * <pre>
+ * offset  0  type ordinal (byte), done (byte), 2 bytes unused
+ *         4  hours of a fixed-duration task (int)
+ *         8  id (long)
+ *        16  due date-time of a deadline, or start of an event, in epoch minutes (long)
+ *        24  end of an event, in epoch minutes (long)
+ *        32  offset of the description in the description buffer, in characters (int)
+ *        36  length of the description, in characters (int)
+ * </pre>
+ * Descriptions are stored back to back in a second buffer, two bytes per character, which is replaced by a
+ * larger copy when full. Both buffers are only ever read and written at absolute positions, so readers share
+ * them without copying or locking. As with {@link ColumnarSlots}, {@link #get(int)} builds a short-lived task
+ * object from a record each time it is called, and queries read the records without building any.
+ * <p>
+ * Direct buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size, and are
+ * freed once the slots they belong to have been compacted away and collected.
+ */
+final class OffHeapSlots implements TaskSlots {
+    /** Bytes per slot in the record buffer. */
+    static final int RECORD_WIDTH = 40;
+
+    private static final TaskType[] TYPES = TaskType.values();
+    /** Characters of description buffer allotted per slot up front. */
+    private static final int CHARS_PER_SLOT = 24;
+    private static final int TYPE = 0;
+    private static final int DONE = 1;
+    private static final int DURATION = 4;
+    private static final int ID = 8;
+    private static final int START = 16;
+    private static final int END = 24;
+    private static final int DESCRIPTION_OFFSET = 32;
+    private static final int DESCRIPTION_LENGTH = 36;
+
+    private final int capacity;
+    private final ByteBuffer records;
+    /** Replaced by a larger copy when full, after which readers must see the copy's contents. */
+    private volatile ByteBuffer descriptions;
+
+    OffHeapSlots(int capacity) {
+        this.capacity = capacity;
+        records = allocate(Math.multiplyExact(capacity, RECORD_WIDTH));
+        descriptions = allocate(Math.multiplyExact(capacity, CHARS_PER_SLOT * Character.BYTES));
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public Task get(int slot) {
+        int record = slot * RECORD_WIDTH;
+        ByteBuffer buffer = descriptions;
+        int from = records.getInt(record + DESCRIPTION_OFFSET) * Character.BYTES;
+        char[] description = new char[records.getInt(record + DESCRIPTION_LENGTH)];
+        for (int i = 0; i < description.length; i++) {
+            description[i] = buffer.getChar(from + i * Character.BYTES);
+        }
+        return TaskSlots.newTask(TYPES[records.get(record + TYPE)], new String(description),
+                records.getLong(record + START), records.getLong(record + END), records.getInt(record + DURATION),
+                records.getLong(record + ID), records.get(record + DONE) != 0);
+    }
+
+    @Override
+    public void set(int slot, Task task) {
+        int record = slot * RECORD_WIDTH;
+        String description = task.getDescription();
+        int from = nextDescriptionOffset(slot);
+        ByteBuffer buffer = reserve(from, description.length());
+        for (int i = 0; i < description.length(); i++) {
+            buffer.putChar((from + i) * Character.BYTES, description.charAt(i));
+        }
+        records.put(record + TYPE, (byte) task.getType().ordinal())
+                .put(record + DONE, (byte) (task.isDone() ? 1 : 0))
+                .putInt(record + DURATION, TaskSlots.durationOf(task))
+                .putLong(record + ID, task.getId())
+                .putLong(record + START, TaskSlots.startOf(task))
+                .putLong(record + END, TaskSlots.endOf(task))
+                .putInt(record + DESCRIPTION_OFFSET, from)
+                .putInt(record + DESCRIPTION_LENGTH, description.length());
+    }
+
+    @Override
+    public void copyTo(int slot, TaskSlots target, int targetSlot) {
+        OffHeapSlots offHeap = (OffHeapSlots) target;
+        int record = slot * RECORD_WIDTH;
+        int targetRecord = targetSlot * RECORD_WIDTH;
+        int from = records.getInt(record + DESCRIPTION_OFFSET);
+        int length = records.getInt(record + DESCRIPTION_LENGTH);
+        int targetFrom = offHeap.nextDescriptionOffset(targetSlot);
+        copy(descriptions, from * Character.BYTES, offHeap.reserve(targetFrom, length), targetFrom * Character.BYTES,
+                length * Character.BYTES);
+        copy(records, record, offHeap.records, targetRecord, RECORD_WIDTH);
+        offHeap.records.putInt(targetRecord + DESCRIPTION_OFFSET, targetFrom);
+    }
+
+    /**
+     * Copies {@code length} bytes from {@code source} at {@code from} to {@code target} at {@code to}, through
+     * views of the buffers so that neither buffer's position changes under its readers.
+     */
+    private static void copy(ByteBuffer source, int from, ByteBuffer target, int to, int length) {
+        ByteBuffer bytes = source.duplicate();
+        bytes.limit(from + length).position(from);
+        ByteBuffer destination = target.duplicate();
+        destination.position(to);
+        destination.put(bytes);
+    }
+
+    /**
+     * Returns where the description of {@code slot} goes: just after the description of the slot before it.
+     */
+    private int nextDescriptionOffset(int slot) {
+        if (slot == 0) {
+            return 0;
+        }
+        int previous = (slot - 1) * RECORD_WIDTH;
+        return records.getInt(previous + DESCRIPTION_OFFSET) + records.getInt(previous + DESCRIPTION_LENGTH);
+    }
+
+    /**
+     * Returns the description buffer, first replaced by a larger copy if it has no room for {@code length}
+     * characters at {@code from}.
+     */
+    private ByteBuffer reserve(int from, int length) {
+        ByteBuffer buffer = descriptions;
+        int needed = Math.multiplyExact(from + length, Character.BYTES);
+        if (needed > buffer.capacity()) {
+            ByteBuffer larger = allocate(Math.max(needed, buffer.capacity() + buffer.capacity() / 2));
+            copy(buffer, 0, larger, 0, from * Character.BYTES);
+            descriptions = larger;
+            buffer = larger;
+        }
+        return buffer;
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        records.put(slot * RECORD_WIDTH + DONE, (byte) (isDone ? 1 : 0));
+    }
+
+    @Override
+    public long getId(int slot) {
+        return records.getLong(slot * RECORD_WIDTH + ID);
+    }
+
+    @Override
+    public TaskType getType(int slot) {
+        return TYPES[records.get(slot * RECORD_WIDTH + TYPE)];
+    }
+
+    /**
+     * {@inheritDoc} The description is compared character by character, without copying it onto the heap.
+     */
+    @Override
+    public boolean containsIgnoreCase(int slot, String lowerKeyword) {
+        int record = slot * RECORD_WIDTH;
+        ByteBuffer buffer = descriptions;
+        int keywordLength = lowerKeyword.length();
+        int start = records.getInt(record + DESCRIPTION_OFFSET);
+        int last = start + records.getInt(record + DESCRIPTION_LENGTH) - keywordLength;
+        for (int from = start; from <= last; from++) {
+            int matched = 0;
+            while (matched < keywordLength && Character.toLowerCase(
+                    buffer.getChar((from + matched) * Character.BYTES)) == lowerKeyword.charAt(matched)) {
+                matched++;
+            }
+            if (matched == keywordLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isOn(int slot, long dayStart) {
+        int record = slot * RECORD_WIDTH;
+        return TaskSlots.isOn(TYPES[records.get(record + TYPE)], records.getLong(record + START),
+                records.getLong(record + END), dayStart);
+    }
+
+    @Override
+    public TaskSlots create(int capacity) {
+        return new OffHeapSlots(capacity);
+    }
+}
@@ -0,0 +1,52 @@
+package pookie.list;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import pookie.task.Task;
+
+/**
+ * A forward-only cursor over a {@link TaskList}, starting at a given offset, that hands out tasks one at a
+ * time so that a long list can be rendered without copying it.
+ * <p>
+ * The cursor reads the immutable snapshot of the list taken when it was opened, so tasks added or removed
+ * while it is open do not affect it.
+ */
+public class TaskCursor implements Iterator<Task> {
+    private final List<Task> tasks;
+    private int index;
+
+    TaskCursor(List<Task> tasks, int offset) {
+        assert offset >= 0 : "Offset must not be negative";
+        this.tasks = tasks;
+        this.index = offset;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < tasks.size();
+    }
+
+    @Override
+    public Task next() {
+        if (index >= tasks.size()) {
+            throw new NoSuchElementException();
+        }
+        return tasks.get(index++);
+    }
+
+    /**
+     * Returns whether the snapshot the cursor reads has no tasks at all, regardless of its position.
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * Returns the 1-based task number of the task that {@link #next()} returns next.
+     */
+    public int nextNumber() {
+        return index + 1;
+    }
+}
@@ -0,0 +1,59 @@
+package pookie.list;
+
+/**
+ * How a {@link TaskList} keeps its tasks in memory.
+ */
+public enum TaskLayout {
+    /**
+     * Every task is an object of its own, and {@code find} and {@code list on} are answered from the keyword and
+     * date indexes. The fastest layout for lists that fit comfortably in memory.
+     */
+    OBJECTS(true) {
+        @Override
+        TaskSlots createSlots(int capacity) {
+            return new ArraySlots(capacity);
+        }
+    },
+    /**
+     * Tasks are stored field by field in primitive arrays, and only turned into objects when they are read (see
+     * {@link ColumnarSlots}), for lists of millions of tasks. The indexes would hold an object for every task,
+     * so {@code find} and {@code list on} scan the description buffer and date arrays instead, which takes a
+     * few milliseconds per million tasks.
+     */
+    COLUMNAR(false) {
+        @Override
+        TaskSlots createSlots(int capacity) {
+            return new ColumnarSlots(capacity);
+        }
+    },
+    /**
+     * Tasks are stored as fixed-width records in direct buffers outside the Java heap (see {@link OffHeapSlots}),
+     * so that the list adds nothing to garbage collection however long it grows. Queries scan the records, as
+     * with {@link #COLUMNAR}.
+     */
+    OFF_HEAP(false) {
+        @Override
+        TaskSlots createSlots(int capacity) {
+            return new OffHeapSlots(capacity);
+        }
+    };
+
+    private final boolean isIndexed;
+
+    TaskLayout(boolean isIndexed) {
+        this.isIndexed = isIndexed;
+    }
+
+    /**
+     * Returns whether lists of this layout answer queries from the keyword and date indexes rather than by
+     * scanning their tasks.
+     */
+    boolean isIndexed() {
+        return isIndexed;
+    }
+
+    /**
+     * Returns empty slots of this layout.
+     */
+    abstract TaskSlots createSlots(int capacity);
+}
@@ -1,48 +1,153 @@
 package pookie.list;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import pookie.exception.PookieException;
 import pookie.storage.Storage;
 import pookie.task.Task;
+import pookie.task.TaskType;
 import pookie.ui.Ui;
 
 /**
  * Represents a list of tasks that the user can manage.
  * Provides methods to add, delete, mark/unmark, print, and search for tasks.
+ * <p>
+ * Every task has a stable id, assigned when it is first added and saved with it, by which it can be found in
+ * constant time ({@link #getTaskById}, {@link #indexOf}) however the tasks before it move.
+ * <p>
+ * The list is safe to share between threads, with one writer at a time and any number of readers. Every
+ * addition or deletion publishes a new immutable snapshot of the list (see {@link TaskSnapshot}, which appends
+ * and deletes without copying the list), so {@link #getTasks()}, {@link #size()} and {@link #cursor(int)}
+ * never wait for a writer, even one that is still saving to disk.
+ * Writers are serialized among themselves for the whole mutation, storage write included, so storages see
+ * mutations in order. The id index and the keyword and date indexes behind {@code find} and {@code list on}
+ * are guarded by a read-write lock that writers hold only while updating them in memory, never during storage writes.
+ * <p>
+ * Every addition, deletion and marking is recorded in a {@link History} as an operation that knows its
+ * inverse, for {@link #undo(Storage)} and {@link #redo(Storage)}.
+ * <p>
+ * The tasks are kept in memory as their {@link TaskLayout} has it: as task objects by default, or field by
+ * field, in arrays or outside the heap, for lists too long to keep an object per task, in which case {@code find}
+ * and {@code list on} scan the fields rather than keep indexes.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private final Object writeLock = new Object();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private KeywordIndex keywordIndex;
+    private DateIndex dateIndex;
+    private final History history;
+    private final TaskLayout layout;
+    /**
+     * Slot of each task in the current snapshot, by id, if the layout keeps indexes. Other layouts, which keep no
+     * object per task, look ids up in the snapshot instead.
+     */
+    private final HashMap<Long, Integer> slotsById = new HashMap<>();
+    private long lastId;
+    private volatile TaskSnapshot tasks;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Constructs a TaskList with a copy of a given list of tasks, and an undo history kept in memory.
+     */
+    public TaskList(List<Task> tasks) {
+        this(tasks, new History(History.DEFAULT_DEPTH));
+    }
+
+    /**
+     * Constructs a TaskList with a copy of a given list of tasks, continuing a given undo history.
+     * Tasks without an id, or with the id of an earlier task, are given a new one.
+     */
+    public TaskList(List<Task> tasks, History history) {
+        this(tasks, history, TaskLayout.OBJECTS);
     }
 
     /**
-     * Constructs a TaskList with a given list of tasks.
+     * Constructs a TaskList with a copy of a given list of tasks, continuing a given undo history, that keeps its
+     * tasks in memory as {@code layout} has it.
+     * Tasks without an id, or with the id of an earlier task, are given a new one.
      */
-    public TaskList(ArrayList<Task> tasks) {
-        assert tasks != null;
-        this.tasks = tasks;
+    public TaskList(List<Task> tasks, History history, TaskLayout layout) {
+        assert tasks != null && history != null && layout != null;
+        for (Task task : tasks) {
+            lastId = Math.max(lastId, task.getId());
+        }
+        HashSet<Long> seen = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getId() == 0 || !seen.add(task.getId())) {
+                task.setId(++lastId);
+            }
+        }
+        this.tasks = TaskSnapshot.of(tasks, layout);
+        if (layout.isIndexed()) {
+            this.keywordIndex = new KeywordIndex(this.tasks);
+            this.dateIndex = new DateIndex(this.tasks);
+        }
+        this.history = history;
+        this.layout = layout;
+        if (layout.isIndexed()) {
+            this.tasks.forEachSlot(slot -> slotsById.put(this.tasks.idInSlot(slot), slot));
+        }
     }
 
     /**
      * Prints the list of tasks.
      */
     public void printTasks(Ui ui) {
-        if (tasks.isEmpty()) {
+        printTasks(ui, 0, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Prints up to {@code limit} tasks starting at {@code offset}, streaming them to the UI in chunks.
+     *
+     * @param footer A line to print after the tasks, or {@code null}.
+     */
+    public void printTasks(Ui ui, int offset, int limit, String footer) {
+        TaskCursor cursor = cursor(offset);
+        if (cursor.isEmpty()) {
             ui.showMessage("Princess, there are no tasks added yet.");
             return;
         }
-        StringBuilder taskList = new StringBuilder("Here are the tasks in your list, Your Highness! \n");
+        ui.showTasks("Here are the tasks in your list, Your Highness! \n", cursor, limit, footer);
+    }
+
+    /**
+     * Returns a cursor over the tasks from {@code offset} (0-based) onwards, as they are now, apart from marks and
+     * unmarks made later, which it sees as {@link #getTasks()} does.
+     */
+    public TaskCursor cursor(int offset) {
+        return new TaskCursor(tasks, offset);
+    }
 
-        for (int i = 0; i < tasks.size(); i++) {
-            taskList.append("\n").append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+    /**
+     * Returns the number of tasks in the list.
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns the number of tasks of each type, including types with no tasks, as they are now.
+     */
+    public EnumMap<TaskType, Integer> countByType() {
+        EnumMap<TaskType, Integer> counts = new EnumMap<>(TaskType.class);
+        int[] byOrdinal = tasks.countByType();
+        for (TaskType type : TaskType.values()) {
+            counts.put(type, byOrdinal[type.ordinal()]);
         }
-        ui.showMessage(taskList.toString());
+        return counts;
     }
 
     /**
@@ -54,37 +159,356 @@ public class TaskList {
      * @throws PookieException If an error occurs while saving the task.
      */
     public void addTask(Task task, Ui ui, Storage storage) throws PookieException {
-        tasks.add(task);
-        storage.saveTasks(tasks);
+        int size;
+        synchronized (writeLock) {
+            size = tasks.size() + 1;
+            insert(size - 1, task, storage);
+            history.record(History.Operation.added(size - 1, task));
+        }
         ui.showMessage("Your wish is my command! I've added this task:\n " + task + "\nNow you have "
-                + tasks.size() + " tasks.");
+                + size + " tasks.");
     }
 
     /**
-     * Marks or unmarks a task.
+     * Appends several tasks at once and persists them in a single storage operation.
+     * This cannot be undone, so it clears the undo history.
+     *
+     * @param newTasks The tasks to append, in order.
+     * @param storage  The storage instance to update the saved tasks.
+     * @throws PookieException If an error occurs while saving the tasks.
      */
-    public void markTask(int index, boolean isDone, Ui ui, Storage storage) throws PookieException {
-        validateTaskIndex(index);
-
-        if (isDone) {
-            tasks.get(index).markDone();
-        } else {
-            tasks.get(index).markNotDone();
+    public void addTasks(List<Task> newTasks, Storage storage) throws PookieException {
+        synchronized (writeLock) {
+            for (Task task : newTasks) {
+                assignId(task);
+            }
+            TaskSnapshot current = tasks;
+            TaskSnapshot updated = current.withAppended(newTasks);
+            indexLock.writeLock().lock();
+            try {
+                if (layout.isIndexed()) {
+                    for (Task task : newTasks) {
+                        keywordIndex.add(task);
+                        dateIndex.add(task);
+                    }
+                }
+                reindexIds(current, updated);
+                tasks = updated;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            storage.saveAdditions(tasks, newTasks);
+            history.clear();
         }
+    }
 
-        storage.saveTasks(tasks);
+    /**
+     * Marks or unmarks a task. Marking a task that is already done, or unmarking one that is not, changes
+     * nothing and is not recorded in the history, so that undoing it cannot flip the task.
+     *
+     * @return The task that was marked or unmarked.
+     */
+    public Task markTask(int index, boolean isDone, Ui ui, Storage storage) throws PookieException {
+        Task task;
+        synchronized (writeLock) {
+            validateTaskIndex(index);
+            boolean wasDone = tasks.get(index).isDone();
+            mark(index, isDone, storage);
+            task = tasks.get(index);
+            if (wasDone != isDone) {
+                history.record(History.Operation.marked(index, task, isDone));
+            }
+        }
         ui.showMessage(isDone ? "Nice! I've marked this task as done:" : "OK, I've unmarked this task:");
-        ui.showMessage(tasks.get(index).toString());
+        ui.showMessage(task.toString());
+        return task;
     }
 
     /**
      * Deletes a task.
+     *
+     * @return The task that was removed.
      */
-    public void deleteTask(int index, Ui ui, Storage storage) throws PookieException {
-        validateTaskIndex(index);
-        Task removedTask = tasks.remove(index);
-        storage.saveTasks(tasks);
+    public Task deleteTask(int index, Ui ui, Storage storage) throws PookieException {
+        Task removedTask;
+        synchronized (writeLock) {
+            validateTaskIndex(index);
+            removedTask = remove(index, storage);
+            history.record(History.Operation.deleted(index, removedTask));
+        }
         ui.showMessage("Okies! I've removed this task:\n" + removedTask);
+        return removedTask;
+    }
+
+    /**
+     * Marks or unmarks the task with id {@code id}, wherever it is in the list.
+     *
+     * @return The task that was marked or unmarked.
+     */
+    public Task markTaskById(long id, boolean isDone, Ui ui, Storage storage) throws PookieException {
+        synchronized (writeLock) {
+            return markTask(requireIndexOf(id), isDone, ui, storage);
+        }
+    }
+
+    /**
+     * Deletes the task with id {@code id}, wherever it is in the list.
+     *
+     * @return The task that was removed.
+     */
+    public Task deleteTaskById(long id, Ui ui, Storage storage) throws PookieException {
+        synchronized (writeLock) {
+            return deleteTask(requireIndexOf(id), ui, storage);
+        }
+    }
+
+    /**
+     * Returns the task with id {@code id}, or {@code null} if there is none.
+     */
+    public Task getTaskById(long id) {
+        if (!layout.isIndexed()) {
+            TaskSnapshot current = tasks;
+            int slot = current.slotOfId(id);
+            return slot < 0 ? null : current.taskInSlot(slot);
+        }
+        indexLock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            return slot == null ? null : tasks.taskInSlot(slot);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the position (0-based) of the task with id {@code id}, or -1 if there is none.
+     */
+    public int indexOf(long id) {
+        if (!layout.isIndexed()) {
+            TaskSnapshot current = tasks;
+            int slot = current.slotOfId(id);
+            return slot < 0 ? -1 : current.indexOfSlot(slot);
+        }
+        indexLock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            return slot == null ? -1 : tasks.indexOfSlot(slot);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private int requireIndexOf(long id) throws PookieException {
+        int index = indexOf(id);
+        if (index < 0) {
+            throw new PookieException("Princess, there is no task #" + id + "!");
+        }
+        return index;
+    }
+
+    /**
+     * Reverts the latest addition, deletion or marking that has not been undone yet.
+     *
+     * @return A description of what was undone.
+     * @throws PookieException If there is nothing to undo, if the list no longer matches the history (which is
+     *     then cleared), or if the change cannot be saved.
+     */
+    public String undo(Storage storage) throws PookieException {
+        synchronized (writeLock) {
+            History.Operation operation = history.peekUndo();
+            if (operation == null) {
+                throw new PookieException("Princess, there is nothing to undo.");
+            }
+            apply(operation.inverse(), storage);
+            history.undone();
+            return "OK! I've undone " + operation.describe();
+        }
+    }
+
+    /**
+     * Applies again the change most recently undone.
+     *
+     * @return A description of what was redone.
+     * @throws PookieException If there is nothing to redo, if the list no longer matches the history (which is
+     *     then cleared), or if the change cannot be saved.
+     */
+    public String redo(Storage storage) throws PookieException {
+        synchronized (writeLock) {
+            History.Operation operation = history.peekRedo();
+            if (operation == null) {
+                throw new PookieException("Princess, there is nothing to redo.");
+            }
+            apply(operation, storage);
+            history.redone();
+            return "OK! I've redone " + operation.describe();
+        }
+    }
+
+    /**
+     * Returns how this list keeps its tasks in memory.
+     */
+    public TaskLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the undo history of this list.
+     */
+    public History getHistory() {
+        return history;
+    }
+
+    /**
+     * Applies an operation from the history after checking that it still fits the list, which it does unless
+     * the task file was changed behind Pookie's back.
+     */
+    private void apply(History.Operation operation, Storage storage) throws PookieException {
+        int index = operation.getIndex();
+        boolean fits = operation.isAddition()
+                ? index <= tasks.size()
+                : index < tasks.size() && operation.isSameTask(tasks.get(index));
+        if (!fits) {
+            history.clear();
+            throw new PookieException("Princess, your tasks have changed since then, so I can't go back. "
+                    + "I've forgotten the old changes.");
+        }
+        if (operation.isAddition()) {
+            insert(index, operation.getTask(), storage);
+        } else if (operation.isDeletion()) {
+            remove(index, storage);
+        } else {
+            mark(index, operation.isDone(), storage);
+        }
+    }
+
+    /**
+     * Inserts {@code task} at {@code index}, publishes the new snapshot and saves it. A task that undo or redo
+     * brings back to where it was deleted from is restored in place while its slot is still a tombstone. Otherwise
+     * the indexes, which only support appending, are rebuilt when a task goes anywhere but the end.
+     */
+    private void insert(int index, Task task, Storage storage) throws PookieException {
+        assignId(task);
+        TaskSnapshot current = tasks;
+        TaskSnapshot restored = current.withRestored(index, task.getId());
+        if (restored != null) {
+            restore(index, restored, storage);
+            return;
+        }
+        boolean isAppended = index == current.size();
+        TaskSnapshot updated = isAppended ? current.withAppended(List.of(task)) : current.withInserted(index, task);
+        boolean isRebuilt = layout.isIndexed() && !isAppended;
+        KeywordIndex rebuiltKeywordIndex = isRebuilt ? new KeywordIndex(updated) : null;
+        DateIndex rebuiltDateIndex = isRebuilt ? new DateIndex(updated) : null;
+        indexLock.writeLock().lock();
+        try {
+            if (isRebuilt) {
+                keywordIndex = rebuiltKeywordIndex;
+                dateIndex = rebuiltDateIndex;
+            } else if (layout.isIndexed()) {
+                keywordIndex.add(task);
+                dateIndex.add(task);
+            }
+            reindexIds(current, updated);
+            tasks = updated;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        if (isAppended) {
+            storage.saveAddition(tasks, task);
+        } else {
+            storage.saveInsertion(tasks, index, task);
+        }
+    }
+
+    /**
+     * Publishes {@code restored}, in which the task at {@code index} is back in the slot it was deleted from, and
+     * saves it. The indexes still know the task's place, so they take it back without being rebuilt, unless they
+     * have since been rebuilt themselves.
+     */
+    private void restore(int index, TaskSnapshot restored, Storage storage) throws PookieException {
+        Task task = restored.get(index);
+        indexLock.writeLock().lock();
+        try {
+            if (layout.isIndexed()) {
+                boolean isKeywordRestored = keywordIndex.restore(task);
+                boolean isDateRestored = dateIndex.restore(task);
+                if (!isKeywordRestored || !isDateRestored) {
+                    keywordIndex = new KeywordIndex(restored);
+                    dateIndex = new DateIndex(restored);
+                }
+                slotsById.put(task.getId(), restored.slotOf(index));
+            }
+            tasks = restored;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        storage.saveInsertion(tasks, index, task);
+    }
+
+    /**
+     * Removes the task at {@code index}, publishes the new snapshot and saves it.
+     *
+     * @return The task removed.
+     */
+    private Task remove(int index, Storage storage) throws PookieException {
+        TaskSnapshot current = tasks;
+        Task removedTask = current.get(index);
+        TaskSnapshot updated = current.withDeleted(index);
+        indexLock.writeLock().lock();
+        try {
+            if (layout.isIndexed()) {
+                keywordIndex.remove(removedTask);
+                dateIndex.remove(removedTask);
+                slotsById.remove(removedTask.getId());
+            }
+            reindexIds(current, updated);
+            tasks = updated;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        storage.saveDeletion(tasks, index);
+        return removedTask;
+    }
+
+    /**
+     * Gives {@code task} the next id if it has none yet. A task that already has one, e.g. one restored by undo,
+     * keeps it.
+     */
+    private void assignId(Task task) {
+        if (task.getId() == 0) {
+            task.setId(++lastId);
+        } else {
+            lastId = Math.max(lastId, task.getId());
+        }
+    }
+
+    /**
+     * Brings {@link #slotsById} up to date for {@code updated}, which replaces {@code current}: the slots of
+     * appended tasks are added, unless {@code updated} was laid out afresh and every slot is recorded again, in
+     * which case the keyword and date indexes also forget the deleted tasks they kept for restoring.
+     * Must be called with the index lock held for writing.
+     */
+    private void reindexIds(TaskSnapshot current, TaskSnapshot updated) {
+        if (!layout.isIndexed()) {
+            return;
+        }
+        if (!updated.sharesSlotsWith(current)) {
+            // The tombstones are gone, so no deleted task can be restored in place any more
+            keywordIndex.forgetRemoved();
+            dateIndex.forgetRemoved();
+            slotsById.clear();
+            updated.forEachSlot(slot -> slotsById.put(updated.idInSlot(slot), slot));
+            return;
+        }
+        for (int slot = current.slotCount(); slot < updated.slotCount(); slot++) {
+            slotsById.put(updated.idInSlot(slot), slot);
+        }
+    }
+
+    private void mark(int index, boolean isDone, Storage storage) throws PookieException {
+        tasks.setDone(index, isDone);
+        tasks = tasks; // Publishes the new status to every thread that reads the list from now on
+        storage.saveMarking(tasks, index);
     }
 
     /**
@@ -113,7 +537,7 @@ public class TaskList {
         } else {
             StringBuilder result = new StringBuilder("Here are the matching tasks in your list: ✨\n");
             for (int i = 0; i < matchingTasks.size(); i++) {
-                result.append("\n").append(i + 1).append(". ").append(matchingTasks.get(i));
+                Ui.appendListed(result.append("\n").append(i + 1).append(". "), matchingTasks.get(i));
             }
             ui.showMessage(result.toString());
         }
@@ -121,18 +545,43 @@ public class TaskList {
 
     /**
      * Returns a list of matching tasks based on the keyword.
+     * Matching is a case-insensitive substring search answered from the {@link KeywordIndex}, or by scanning the
+     * tasks if the layout keeps no indexes.
      */
     public ArrayList<Task> findTasksReturn(String keyword) {
-        ArrayList<Task> matchingTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) { // ✅ Case-insensitive
-                matchingTasks.add(task);
-            }
+        if (!layout.isIndexed()) {
+            return tasks.find(keyword);
+        }
+        indexLock.readLock().lock();
+        try {
+            return keywordIndex.find(keyword);
+        } finally {
+            indexLock.readLock().unlock();
         }
-        return matchingTasks;
     }
 
-    public ArrayList<Task> getTasks() {
+    /**
+     * Returns the deadlines due on {@code date} and the events taking place on it, in list order.
+     * Answered from the {@link DateIndex}, or by scanning the tasks if the layout keeps no indexes.
+     */
+    public ArrayList<Task> getTasksOn(LocalDate date) {
+        if (!layout.isIndexed()) {
+            return tasks.tasksOn(date);
+        }
+        indexLock.readLock().lock();
+        try {
+            return dateIndex.tasksOn(date);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the tasks, which cannot be changed through it. Later additions and deletions are not
+     * reflected in it, but later marks and unmarks are, since the snapshot shares the tasks' done status with the
+     * list.
+     */
+    public List<Task> getTasks() {
         return tasks;
     }
 }
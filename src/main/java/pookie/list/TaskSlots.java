@@ -0,0 +1,146 @@
+package pookie.list;
+
+import pookie.task.DateTimeCodec;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+import pookie.task.TaskType;
+import pookie.task.ToDo;
+
+/**
+ * The numbered slots that the snapshots of a {@link TaskList} keep their tasks in, as laid out by a
+ * {@link TaskLayout}.
+ * <p>
+ * Slots are filled in increasing order and, once a snapshot that sees them has been published, never filled
+ * again, so readers of older snapshots can read them while the writer fills later ones. The only change made
+ * to a filled slot is to the done status of its task, which, as with a marked task object, every snapshot sees.
+ */
+interface TaskSlots {
+    /** Minutes in a day, for the date queries, which take a day as the epoch minute it starts at. */
+    long MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Returns the number of slots, filled or not.
+     */
+    int capacity();
+
+    /**
+     * Returns the task in {@code slot}: the task itself, or a view of it built from the slot's fields.
+     */
+    Task get(int slot);
+
+    /**
+     * Fills {@code slot} with {@code task}, discarding whatever was in it and in every slot after it.
+     */
+    void set(int slot, Task task);
+
+    /**
+     * Copies the task in {@code slot} to {@code targetSlot} of {@code target}, slots of the same layout.
+     */
+    void copyTo(int slot, TaskSlots target, int targetSlot);
+
+    /**
+     * Marks the task in {@code slot} as done or not done.
+     */
+    void setDone(int slot, boolean isDone);
+
+    /**
+     * Returns the id of the task in {@code slot}.
+     */
+    long getId(int slot);
+
+    /**
+     * Returns the type of the task in {@code slot}.
+     */
+    TaskType getType(int slot);
+
+    /**
+     * Returns whether the description of the task in {@code slot}, in lower case, contains {@code lowerKeyword}.
+     */
+    boolean containsIgnoreCase(int slot, String lowerKeyword);
+
+    /**
+     * Returns whether the task in {@code slot} is a deadline due on, or an event taking place on, the day
+     * starting at epoch minute {@code dayStart}.
+     */
+    boolean isOn(int slot, long dayStart);
+
+    /**
+     * Returns empty slots of the same layout.
+     */
+    TaskSlots create(int capacity);
+
+    /**
+     * Returns whether a task of {@code type}, with the given date-times in epoch minutes, is on the day starting
+     * at epoch minute {@code dayStart}, as {@link DateIndex} has it: a deadline on the day it is due, and an
+     * event on every day from its start to its end, or on its start day alone if it ends before it starts.
+     *
+     * @param start The due date-time of a deadline, or the start of an event.
+     * @param end The end of an event.
+     */
+    static boolean isOn(TaskType type, long start, long end, long dayStart) {
+        long dayEnd = dayStart + MINUTES_PER_DAY;
+        if (type == TaskType.DEADLINE) {
+            return start >= dayStart && start < dayEnd;
+        }
+        return type == TaskType.EVENT && start < dayEnd && Math.max(start, end) >= dayStart;
+    }
+
+    /**
+     * Returns a new task object with the given fields, for slots that keep the fields rather than the object.
+     *
+     * @param start The due date-time of a deadline, or the start of an event, in epoch minutes.
+     * @param end The end of an event, in epoch minutes.
+     * @param id The id of the task, or 0 if it has none.
+     */
+    static Task newTask(TaskType type, String description, long start, long end, int duration, long id,
+            boolean isDone) {
+        Task task;
+        switch (type) {
+        case DEADLINE:
+            task = new Deadline(description, DateTimeCodec.fromEpochMinute(start));
+            break;
+        case EVENT:
+            task = new Event(description, DateTimeCodec.fromEpochMinute(start), DateTimeCodec.fromEpochMinute(end));
+            break;
+        case FIXED_DURATION:
+            task = new FixedDurationTask(description, duration);
+            break;
+        default:
+            task = new ToDo(description);
+            break;
+        }
+        if (id != 0) {
+            task.setId(id);
+        }
+        if (isDone) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the due date-time of a deadline or the start of an event, in epoch minutes, or 0 for other tasks.
+     */
+    static long startOf(Task task) {
+        if (task instanceof Deadline) {
+            return DateTimeCodec.toEpochMinute(((Deadline) task).getByDate());
+        }
+        return task instanceof Event ? DateTimeCodec.toEpochMinute(((Event) task).getStartDate()) : 0;
+    }
+
+    /**
+     * Returns the end of an event, in epoch minutes, or 0 for other tasks.
+     */
+    static long endOf(Task task) {
+        return task instanceof Event ? DateTimeCodec.toEpochMinute(((Event) task).getEndDate()) : 0;
+    }
+
+    /**
+     * Returns the hours of a fixed-duration task, or 0 for other tasks.
+     */
+    static int durationOf(Task task) {
+        return task instanceof FixedDurationTask ? ((FixedDurationTask) task).getDuration() : 0;
+    }
+}
@@ -0,0 +1,376 @@
+package pookie.list;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+
+import pookie.task.Task;
+import pookie.task.TaskType;
+
+/**
+ * An immutable snapshot of a {@link TaskList}, which deletes by tombstoning rather than shifting every later
+ * task down.
+ * <p>
+ * The one exception is the done status of a task. Marking sets it in the slots that every snapshot holding the
+ * task shares, as it always did on the shared task object, so an older snapshot sees later marks, though not
+ * later additions or deletions. Copying the slots on every mark would cost as much as the list is long.
+ * <p>
+ * Tasks sit in {@link TaskSlots} that successive snapshots share, laid out as the list's {@link TaskLayout} has
+ * it. A snapshot sees the first {@code slotCount} slots, minus the slots listed in its sorted {@code dead} array:
+ * <ul>
+ *     <li>Appending writes the next slot beyond every existing snapshot's count, so they do not see it, and
+ *     only copies the slots when they are full.</li>
+ *     <li>Deleting copies the short {@code dead} array with one more slot in it, and leaves the slots alone.</li>
+ *     <li>Once there are more than {@value #MIN_TOMBSTONES} tombstones and more than the square root of the
+ *     number of tasks, the live tasks are compacted into fresh slots, so a deletion costs O(&radic;n)
+ *     amortized rather than O(n).</li>
+ * </ul>
+ * Finding the task at a position is a binary search over the tombstones, and iterating skips them in order.
+ * <p>
+ * Ids are handed out in increasing order and tasks are appended in the order they get them, so the ids in the
+ * slots normally never decrease, and finding the slot of an id is a binary search over them. A list loaded with
+ * its ids out of order is searched slot by slot instead, until it is next laid out afresh in order.
+ */
+final class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+    /** Number of tombstones tolerated whatever the size of the list. */
+    static final int MIN_TOMBSTONES = 64;
+
+    private final TaskSlots slots;
+    private final int slotCount;
+    private final int[] dead;
+    /** Whether the ids in the slots never decrease, so that {@link #slotOfId(long)} can binary search them. */
+    private final boolean idsInOrder;
+
+    private TaskSnapshot(TaskSlots slots, int slotCount, int[] dead, boolean idsInOrder) {
+        this.slots = slots;
+        this.slotCount = slotCount;
+        this.dead = dead;
+        this.idsInOrder = idsInOrder;
+    }
+
+    /**
+     * Returns a snapshot holding a copy of {@code tasks}, laid out as {@code layout} has it.
+     */
+    static TaskSnapshot of(List<Task> tasks, TaskLayout layout) {
+        TaskSlots slots = layout.createSlots(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            slots.set(i, tasks.get(i));
+        }
+        return new TaskSnapshot(slots, tasks.size(), new int[0], idsInOrder(slots, 0, tasks.size()));
+    }
+
+    @Override
+    public Task get(int index) {
+        return slots.get(slotOf(index));
+    }
+
+    @Override
+    public int size() {
+        return slotCount - dead.length;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot;
+            private int nextDead; // Index in dead of the first tombstone at or after slot
+
+            {
+                skipDead();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < slotCount;
+            }
+
+            @Override
+            public Task next() {
+                if (slot >= slotCount) {
+                    throw new NoSuchElementException();
+                }
+                Task task = slots.get(slot++);
+                skipDead();
+                return task;
+            }
+
+            private void skipDead() {
+                while (nextDead < dead.length && dead[nextDead] == slot) {
+                    slot++;
+                    nextDead++;
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the slot holding the task at position {@code index}.
+     */
+    int slotOf(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        // dead[j] - j is the number of live tasks before the j-th tombstone; count the tombstones before index
+        int low = 0;
+        int high = dead.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dead[mid] - mid <= index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return index + low;
+    }
+
+    /**
+     * Returns the position of the live task in {@code slot}.
+     */
+    int indexOfSlot(int slot) {
+        int before = Arrays.binarySearch(dead, slot);
+        assert before < 0 : "Slot " + slot + " has been deleted";
+        return slot - (-before - 1);
+    }
+
+    /**
+     * Returns the task in {@code slot}, dead or alive.
+     */
+    Task taskInSlot(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Returns the id of the task in {@code slot}, dead or alive, without reading the rest of the task.
+     */
+    long idInSlot(int slot) {
+        return slots.getId(slot);
+    }
+
+    /**
+     * Returns the slot of the live task with id {@code id}, or -1 if there is none.
+     */
+    int slotOfId(long id) {
+        if (!idsInOrder) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slots.getId(slot) == id && isLive(slot)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+        int low = 0;
+        int high = slotCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (slots.getId(mid) < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // A task deleted by undo and added back by redo leaves its tombstone just before it, under the same id
+        for (int slot = low; slot < slotCount && slots.getId(slot) == id; slot++) {
+            if (isLive(slot)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isLive(int slot) {
+        return Arrays.binarySearch(dead, slot) < 0;
+    }
+
+    /**
+     * Returns whether the ids in slots {@code from} to {@code to} (exclusive) of {@code slots} never decrease,
+     * starting from the id in the slot before {@code from}, if any.
+     */
+    private static boolean idsInOrder(TaskSlots slots, int from, int to) {
+        for (int slot = Math.max(1, from); slot < to; slot++) {
+            if (slots.getId(slot - 1) > slots.getId(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls {@code action} with the slot of every live task, in list order, so that a query can read just the
+     * fields it needs instead of whole tasks.
+     */
+    void forEachSlot(IntConsumer action) {
+        int nextDead = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (nextDead < dead.length && dead[nextDead] == slot) {
+                nextDead++;
+            } else {
+                action.accept(slot);
+            }
+        }
+    }
+
+    /**
+     * Marks the task at position {@code index} as done or not done.
+     */
+    void setDone(int index, boolean isDone) {
+        slots.setDone(slotOf(index), isDone);
+    }
+
+    /**
+     * Returns the tasks whose description contains {@code keyword}, ignoring case, in list order, found by
+     * checking every task.
+     */
+    ArrayList<Task> find(String keyword) {
+        String lower = keyword.toLowerCase();
+        ArrayList<Task> matches = new ArrayList<>();
+        forEachSlot(slot -> {
+            if (slots.containsIgnoreCase(slot, lower)) {
+                matches.add(slots.get(slot));
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Returns the deadlines due on {@code date} and the events taking place on it, in list order, found by
+     * checking every task.
+     */
+    ArrayList<Task> tasksOn(LocalDate date) {
+        long dayStart = date.toEpochDay() * TaskSlots.MINUTES_PER_DAY;
+        ArrayList<Task> matches = new ArrayList<>();
+        forEachSlot(slot -> {
+            if (slots.isOn(slot, dayStart)) {
+                matches.add(slots.get(slot));
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Returns the number of tasks of each type, indexed by the ordinal of the type.
+     */
+    int[] countByType() {
+        int[] counts = new int[TaskType.values().length];
+        forEachSlot(slot -> counts[slots.getType(slot).ordinal()]++);
+        return counts;
+    }
+
+    /**
+     * Returns the number of slots in use, including tombstones.
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    private boolean needsCompaction() {
+        return dead.length > MIN_TOMBSTONES && (long) dead.length * dead.length > size();
+    }
+
+    /**
+     * Returns a snapshot with {@code added} appended, sharing this snapshot's slots while they have room.
+     */
+    TaskSnapshot withAppended(List<Task> added) {
+        if (needsCompaction() || slotCount + added.size() > slots.capacity()) {
+            return compact(added.size()).withAppended(added);
+        }
+        for (int i = 0; i < added.size(); i++) {
+            slots.set(slotCount + i, added.get(i));
+        }
+        int count = slotCount + added.size();
+        return new TaskSnapshot(slots, count, dead, idsInOrder && idsInOrder(slots, slotCount, count));
+    }
+
+    /**
+     * Returns a snapshot without the task at position {@code index}.
+     */
+    TaskSnapshot withDeleted(int index) {
+        int slot = slotOf(index);
+        int at = -Arrays.binarySearch(dead, slot) - 1;
+        int[] updated = new int[dead.length + 1];
+        System.arraycopy(dead, 0, updated, 0, at);
+        updated[at] = slot;
+        System.arraycopy(dead, at, updated, at + 1, dead.length - at);
+        TaskSnapshot deleted = new TaskSnapshot(slots, slotCount, updated, idsInOrder);
+        return deleted.needsCompaction() ? deleted.compact(0) : deleted;
+    }
+
+    /**
+     * Returns a snapshot in which the deleted task with id {@code id} is live again, back in its slot, if that
+     * slot is still here as a tombstone and would put the task at position {@code index}. This is how undo
+     * brings back a deleted task at the cost of copying the tombstones, which are far fewer than the tasks. If
+     * the task was deleted more than once, the slot it was deleted from last is used.
+     *
+     * @return The snapshot, or {@code null} if the task's slot has been compacted away.
+     */
+    TaskSnapshot withRestored(int index, long id) {
+        for (int j = dead.length - 1; j >= 0; j--) {
+            // dead[j] - j live tasks come before the j-th tombstone, so that is the position it would take
+            if (dead[j] - j == index && slots.getId(dead[j]) == id) {
+                int[] updated = new int[dead.length - 1];
+                System.arraycopy(dead, 0, updated, 0, j);
+                System.arraycopy(dead, j + 1, updated, j, dead.length - j - 1);
+                return new TaskSnapshot(slots, slotCount, updated, idsInOrder);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a snapshot with {@code task} inserted at position {@code index}. Only undo and redo insert
+     * anywhere but the end, and usually {@link #withRestored} can, so this simply copies the live tasks.
+     */
+    TaskSnapshot withInserted(int index, Task task) {
+        TaskSlots updated = slots.create(size() + 1 + size() / 2);
+        int count = copyLiveTo(updated, index, task);
+        return new TaskSnapshot(updated, count, new int[0], idsInOrder(updated, 0, count));
+    }
+
+    /**
+     * Returns whether {@code other} shares this snapshot's slots, numbered the same way.
+     */
+    boolean sharesSlotsWith(TaskSnapshot other) {
+        return slots == other.slots;
+    }
+
+    /**
+     * Returns a snapshot of the live tasks in fresh slots, with room for at least {@code extra} more.
+     */
+    private TaskSnapshot compact(int extra) {
+        int size = size();
+        TaskSlots compacted = slots.create(Math.max(16, size + extra + (size + extra) / 2));
+        int count = copyLiveTo(compacted, -1, null);
+        return new TaskSnapshot(compacted, count, new int[0], idsInOrder(compacted, 0, count));
+    }
+
+    /**
+     * Copies the live tasks to the first slots of {@code target}, in order, with {@code inserted} at position
+     * {@code insertAt} if it is one of theirs.
+     *
+     * @return The number of slots filled.
+     */
+    private int copyLiveTo(TaskSlots target, int insertAt, Task inserted) {
+        int next = 0;
+        int nextDead = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (nextDead < dead.length && dead[nextDead] == slot) {
+                nextDead++;
+                continue;
+            }
+            if (next == insertAt) {
+                target.set(next++, inserted);
+            }
+            slots.copyTo(slot, target, next++);
+        }
+        if (next == insertAt) {
+            target.set(next++, inserted);
+        }
+        return next;
+    }
+}
@@ -0,0 +1,214 @@
+package pookie.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import pookie.task.TaskType;
+
+/**
+ * Process-wide counters and latency histograms, recorded by the command dispatcher and the storages and
+ * reported by the {@code stats} command and over JMX (see {@link PookieStats}).
+ * <ul>
+ *     <li>Per command keyword: a {@link LatencyHistogram} and the number of calls that failed.</li>
+ *     <li>Commands that were not understood.</li>
+ *     <li>Full saves and loads of the task file, with their latency and the bytes written and read.</li>
+ *     <li>Records appended to the journal, and their bytes.</li>
+ *     <li>Storage errors.</li>
+ * </ul>
+ * Everything is lock-free, so recording costs a map lookup and a few atomic additions.
+ */
+public final class Metrics {
+    private static final ConcurrentHashMap<String, CommandStats> COMMANDS = new ConcurrentHashMap<>();
+    private static final LongAdder UNKNOWN_COMMANDS = new LongAdder();
+    private static final LatencyHistogram SAVES = new LatencyHistogram();
+    private static final LatencyHistogram LOADS = new LatencyHistogram();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final LongAdder BYTES_READ = new LongAdder();
+    private static final LongAdder JOURNAL_APPENDS = new LongAdder();
+    private static final LongAdder STORAGE_ERRORS = new LongAdder();
+
+    private Metrics() {
+    }
+
+    /**
+     * Records one run of the command {@code keyword}.
+     *
+     * @param isError Whether the command failed.
+     */
+    public static void recordCommand(String keyword, long nanos, boolean isError) {
+        CommandStats stats = COMMANDS.computeIfAbsent(keyword, key -> new CommandStats());
+        stats.latency.record(nanos);
+        if (isError) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Records input that did not start with any known command keyword.
+     */
+    public static void recordUnknownCommand() {
+        UNKNOWN_COMMANDS.increment();
+    }
+
+    /**
+     * Records a full save of the task file.
+     */
+    public static void recordSave(long bytes, long nanos) {
+        SAVES.record(nanos);
+        BYTES_WRITTEN.add(bytes);
+    }
+
+    /**
+     * Records a full load of the task file, including any journal replayed with it.
+     */
+    public static void recordLoad(long bytes, long nanos) {
+        LOADS.record(nanos);
+        BYTES_READ.add(bytes);
+    }
+
+    /**
+     * Records {@code records} changes appended to the journal in one write.
+     */
+    public static void recordJournalAppend(int records, long bytes) {
+        JOURNAL_APPENDS.add(records);
+        BYTES_WRITTEN.add(bytes);
+    }
+
+    /**
+     * Records a save or load that failed.
+     */
+    public static void recordStorageError() {
+        STORAGE_ERRORS.increment();
+    }
+
+    /**
+     * Returns the latency histogram of each command keyword that has run, by keyword.
+     */
+    public static Map<String, LatencyHistogram> getCommandLatencies() {
+        Map<String, LatencyHistogram> latencies = new TreeMap<>();
+        COMMANDS.forEach((keyword, stats) -> latencies.put(keyword, stats.latency));
+        return latencies;
+    }
+
+    /**
+     * Returns the number of failed runs of each command keyword that has run, by keyword.
+     */
+    public static Map<String, Long> getCommandErrors() {
+        Map<String, Long> errors = new TreeMap<>();
+        COMMANDS.forEach((keyword, stats) -> errors.put(keyword, stats.errors.sum()));
+        return errors;
+    }
+
+    /**
+     * Returns the number of failed commands, including ones that were not understood, plus storage errors.
+     */
+    public static long getErrorCount() {
+        long errors = UNKNOWN_COMMANDS.sum() + STORAGE_ERRORS.sum();
+        for (CommandStats stats : COMMANDS.values()) {
+            errors += stats.errors.sum();
+        }
+        return errors;
+    }
+
+    public static long getUnknownCommandCount() {
+        return UNKNOWN_COMMANDS.sum();
+    }
+
+    public static LatencyHistogram getSaveLatency() {
+        return SAVES;
+    }
+
+    public static LatencyHistogram getLoadLatency() {
+        return LOADS;
+    }
+
+    public static long getBytesWritten() {
+        return BYTES_WRITTEN.sum();
+    }
+
+    public static long getBytesRead() {
+        return BYTES_READ.sum();
+    }
+
+    public static long getJournalAppendCount() {
+        return JOURNAL_APPENDS.sum();
+    }
+
+    public static long getStorageErrorCount() {
+        return STORAGE_ERRORS.sum();
+    }
+
+    /**
+     * Returns a readable summary of every metric, with the given task counts, as shown by {@code stats}.
+     */
+    public static String report(EnumMap<TaskType, Integer> taskCounts) {
+        StringBuilder report = new StringBuilder("Here are my stats since I woke up, Your Highness!\n");
+        int totalTasks = 0;
+        StringBuilder byType = new StringBuilder();
+        for (Map.Entry<TaskType, Integer> entry : taskCounts.entrySet()) {
+            totalTasks += entry.getValue();
+            byType.append(byType.length() == 0 ? "" : ", ").append(entry.getKey()).append(' ')
+                    .append(entry.getValue());
+        }
+        report.append("\nTasks: ").append(totalTasks);
+        if (totalTasks > 0) {
+            report.append(" (").append(byType).append(')');
+        }
+
+        report.append("\n\nCommands (calls, errors, p50 / p99 / max latency):");
+        Map<String, Long> errors = getCommandErrors();
+        for (Map.Entry<String, LatencyHistogram> entry : getCommandLatencies().entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            report.append("\n  ").append(entry.getKey()).append(": ").append(latency.getCount()).append(", ")
+                    .append(errors.get(entry.getKey())).append(", ");
+            appendLatencies(report, latency);
+        }
+        report.append("\n  not understood: ").append(getUnknownCommandCount());
+
+        report.append("\n\nStorage:");
+        report.append("\n  saves: ").append(SAVES.getCount()).append(", ");
+        appendLatencies(report, SAVES);
+        report.append("\n  loads: ").append(LOADS.getCount()).append(", ");
+        appendLatencies(report, LOADS);
+        report.append("\n  journal records: ").append(getJournalAppendCount());
+        report.append("\n  written: ").append(formatBytes(getBytesWritten())).append(", read: ")
+                .append(formatBytes(getBytesRead()));
+        report.append("\n  errors: ").append(getStorageErrorCount());
+        return report.toString();
+    }
+
+    private static void appendLatencies(StringBuilder out, LatencyHistogram latency) {
+        out.append(formatNanos(latency.getPercentile(50))).append(" / ")
+                .append(formatNanos(latency.getPercentile(99))).append(" / ")
+                .append(formatNanos(latency.getMax()));
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1f us", nanos / 1e3);
+        }
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1e6);
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    /**
+     * Latency and error count of one command keyword.
+     */
+    private static class CommandStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
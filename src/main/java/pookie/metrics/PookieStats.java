@@ -0,0 +1,143 @@
+package pookie.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import pookie.list.TaskList;
+import pookie.task.TaskType;
+
+/**
+ * Publishes {@link Metrics} and the task counts of one {@link TaskList} over JMX, e.g. for JConsole.
+ */
+public class PookieStats implements PookieStatsMXBean {
+    /** Name under which the statistics are registered. */
+    public static final String OBJECT_NAME = "pookie:type=Stats";
+
+    private final TaskList tasks;
+
+    /**
+     * Constructs statistics that count the tasks in {@code tasks}.
+     */
+    public PookieStats(TaskList tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Registers statistics for {@code tasks} with the platform MBean server, replacing any registered before.
+     * Failures are reported on stderr only, since the statistics are not needed to run.
+     */
+    public static void register(TaskList tasks) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new PookieStats(tasks), name);
+        } catch (JMException | SecurityException e) {
+            System.err.println("Could not publish statistics over JMX: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getTasksByType() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<TaskType, Integer> entry : tasks.countByType().entrySet()) {
+            counts.put(entry.getKey().name(), entry.getValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        return perCommand(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getCommandErrors() {
+        return Metrics.getCommandErrors();
+    }
+
+    @Override
+    public Map<String, Long> getCommandP50Micros() {
+        return perCommand(latency -> latency.getPercentile(50) / 1000);
+    }
+
+    @Override
+    public Map<String, Long> getCommandP99Micros() {
+        return perCommand(latency -> latency.getPercentile(99) / 1000);
+    }
+
+    @Override
+    public Map<String, Long> getCommandMaxMicros() {
+        return perCommand(latency -> latency.getMax() / 1000);
+    }
+
+    @Override
+    public long getUnknownCommandCount() {
+        return Metrics.getUnknownCommandCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return Metrics.getErrorCount();
+    }
+
+    @Override
+    public long getSaveCount() {
+        return Metrics.getSaveLatency().getCount();
+    }
+
+    @Override
+    public long getSaveP99Micros() {
+        return Metrics.getSaveLatency().getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getLoadCount() {
+        return Metrics.getLoadLatency().getCount();
+    }
+
+    @Override
+    public long getLoadP99Micros() {
+        return Metrics.getLoadLatency().getPercentile(99) / 1000;
+    }
+
+    @Override
+    public long getJournalAppendCount() {
+        return Metrics.getJournalAppendCount();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return Metrics.getBytesWritten();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return Metrics.getBytesRead();
+    }
+
+    @Override
+    public long getStorageErrorCount() {
+        return Metrics.getStorageErrorCount();
+    }
+
+    @Override
+    public String getReport() {
+        return Metrics.report(tasks.countByType());
+    }
+
+    private static Map<String, Long> perCommand(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> values = new TreeMap<>();
+        Metrics.getCommandLatencies().forEach((keyword, latency) -> values.put(keyword,
+                value.applyAsLong(latency)));
+        return values;
+    }
+}
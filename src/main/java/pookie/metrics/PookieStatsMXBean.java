@@ -0,0 +1,46 @@
+package pookie.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link Metrics}, registered as {@value PookieStats#OBJECT_NAME}. Latencies are in
+ * microseconds.
+ */
+public interface PookieStatsMXBean {
+    Map<String, Integer> getTasksByType();
+
+    Map<String, Long> getCommandCounts();
+
+    Map<String, Long> getCommandErrors();
+
+    Map<String, Long> getCommandP50Micros();
+
+    Map<String, Long> getCommandP99Micros();
+
+    Map<String, Long> getCommandMaxMicros();
+
+    long getUnknownCommandCount();
+
+    long getErrorCount();
+
+    long getSaveCount();
+
+    long getSaveP99Micros();
+
+    long getLoadCount();
+
+    long getLoadP99Micros();
+
+    long getJournalAppendCount();
+
+    long getBytesWritten();
+
+    long getBytesRead();
+
+    long getStorageErrorCount();
+
+    /**
+     * Returns the same summary as the {@code stats} command.
+     */
+    String getReport();
+}
@@ -0,0 +1,482 @@
+package pookie.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import pookie.command.Command;
+import pookie.command.Parser;
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.task.DateTimeCodec;
+import pookie.task.Task;
+import pookie.tenant.TenantRegistry;
+import pookie.ui.Ui;
+
+/**
+ * A headless HTTP/JSON API over a {@link TaskList}, for local tools that want to drive Pookie without the GUI
+ * or the console. It only listens on the loopback address, and only answers requests addressed to it by a
+ * loopback {@code Host} that, if they come from a web page, come from one served from this machine: anything
+ * else gets status 403. This keeps other web pages open in a browser on this machine from driving Pookie.
+ * <ul>
+ *     <li>{@code GET /tasks[?offset=N][&limit=N]} lists the tasks, or one slice of them.</li>
+ *     <li>{@code GET /tasks?find=KEYWORD} and {@code GET /tasks?on=YYYY-MM-DD} work like {@code find} and
+ *     {@code list on}.</li>
+ *     <li>{@code POST /tasks} adds the task described by a command line in the body, e.g.
+ *     {@code deadline report /by 2025-02-28 2359}.</li>
+ *     <li>{@code GET /tasks/N} and {@code DELETE /tasks/N} return and delete task number {@code N}.</li>
+ *     <li>{@code POST /tasks/N/mark} and {@code POST /tasks/N/unmark} mark and unmark it.</li>
+ *     <li>{@code /tasks/id/ID}, {@code /tasks/id/ID/mark} and {@code /tasks/id/ID/unmark} do the same for the
+ *     task with id {@code ID}, which stays the same while other tasks are added and deleted.</li>
+ *     <li>{@code POST /commands} runs the command line in the body and returns Pookie's reply. {@code export},
+ *     {@code import} and {@code convert}, which read and write files, are refused with status 403.</li>
+ * </ul>
+ * With a {@link TenantRegistry}, the server holds a separate list for each user instead, and every path above
+ * is prefixed with {@code /users/ID}, e.g. {@code GET /users/alice/tasks}.
+ * <p>
+ * Request bodies are plain UTF-8 text. Responses are JSON; errors are {@code {"error":"..."}} with status 400
+ * for a rejected command, 403 for a refused request, 404 for an unknown task or path and 405 for an unsupported
+ * method.
+ * <p>
+ * Each request runs on its own virtual thread when the runtime supports them (Java 21 and later), and on a
+ * bounded pool of platform threads otherwise. Requests share the list directly: reads use its snapshots and
+ * never wait for writes, and writes are serialized by the list.
+ */
+public class ApiServer {
+    /** Port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 8642;
+
+    private static final int BACKLOG = 1024;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int PLATFORM_THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+    private static final String TASKS_PATH = "/tasks";
+    private static final String ID_PREFIX = "id/";
+    private static final String COMMANDS_PATH = "/commands";
+    private static final String USERS_PATH = "/users/";
+    /** Host names that {@code Host} and {@code Origin} headers may carry. */
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+    /** Commands that read or write files named in their argument, which no request may run. */
+    private static final Set<String> FILE_COMMANDS = Set.of("export", "import", "convert");
+    /** Seconds that {@link #stop()} gives requests in progress to finish. */
+    private static final int STOP_GRACE_SECONDS = 1;
+    /**
+     * JDK property that disables Nagle's algorithm on the server's sockets. Without it, small responses wait
+     * for the client's delayed acknowledgement, which caps a keep-alive connection at a few dozen requests a
+     * second. It is read once, when the first server is created.
+     */
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    static {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+
+    private final TaskList tasks;
+    private final Storage storage;
+    private final TenantRegistry tenants;
+    private final Ui ui = new SilentUi();
+    private final HttpServer server;
+    private final ExecutorService executor = createExecutor();
+    private final AtomicInteger requestsInProgress = new AtomicInteger();
+
+    /**
+     * Binds a server to {@code port} on the loopback address, or to a free port if {@code port} is 0.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public ApiServer(TaskList tasks, Storage storage, int port) throws IOException {
+        this(tasks, storage, null, port);
+    }
+
+    /**
+     * Binds a server for the users in {@code tenants} to {@code port} on the loopback address, or to a free
+     * port if {@code port} is 0.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public ApiServer(TenantRegistry tenants, int port) throws IOException {
+        this(null, null, tenants, port);
+    }
+
+    private ApiServer(TaskList tasks, Storage storage, TenantRegistry tenants, int port) throws IOException {
+        this.tasks = tasks;
+        this.storage = storage;
+        this.tenants = tenants;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, gives the ones in progress up to {@value #STOP_GRACE_SECONDS} second to finish
+     * and closes the storage, or every user's. A request still running after that may find the storage closed.
+     */
+    public void stop() {
+        // The server waits out the whole grace period even when idle, so only give one if it is needed.
+        server.stop(requestsInProgress.get() > 0 ? STOP_GRACE_SECONDS : 0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(STOP_GRACE_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (tenants != null) {
+                tenants.close();
+            } else {
+                storage.close();
+            }
+        } catch (PookieException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestsInProgress.incrementAndGet();
+        try {
+            Response response = isLocal(exchange) ? route(exchange)
+                    : forbidden("Only pages and tools on this machine may use Pookie.");
+            send(exchange, response.status, response.body);
+        } catch (PookieException e) {
+            send(exchange, 400, Json.message("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, Json.message("error", "Internal error: " + e));
+        } finally {
+            exchange.close();
+            requestsInProgress.decrementAndGet();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException, PookieException {
+        String path = exchange.getRequestURI().getRawPath();
+        String body = readBody(exchange);
+        if (tenants == null) {
+            return route(exchange, path, body, tasks, storage);
+        }
+
+        int slash = path.indexOf('/', USERS_PATH.length());
+        if (!path.startsWith(USERS_PATH) || slash < 0) {
+            return notFound("No such path: " + path + ". Paths start with " + USERS_PATH + "ID.");
+        }
+        String tenantId = path.substring(USERS_PATH.length(), slash);
+        return tenants.withTenant(tenantId, (tenantTasks, tenantStorage) ->
+                route(exchange, path.substring(slash), body, tenantTasks, tenantStorage));
+    }
+
+    private Response route(HttpExchange exchange, String path, String body, TaskList tasks, Storage storage)
+            throws PookieException {
+        String method = exchange.getRequestMethod();
+        if (path.equals(TASKS_PATH)) {
+            switch (method) {
+            case "GET":
+                return listTasks(parseQuery(exchange.getRequestURI().getRawQuery()), tasks);
+            case "POST":
+                return addTask(body, tasks, storage);
+            default:
+                return notAllowed(exchange, "GET, POST");
+            }
+        }
+        if (path.equals(COMMANDS_PATH)) {
+            if (!method.equals("POST")) {
+                return notAllowed(exchange, "POST");
+            }
+            Command command = Parser.getCommands().parse(body);
+            if (command != null && FILE_COMMANDS.contains(command.getKeyword())) {
+                return forbidden("Princess, '" + command.getKeyword() + "' can only be run in Pookie itself.");
+            }
+            String reply = command == null
+                    ? Parser.parseCommandAndReturn(body, tasks, ui, storage)
+                    : command.executeAndReturn(tasks, ui, storage);
+            return new Response(200, Json.message("reply", reply));
+        }
+        if (path.startsWith(TASKS_PATH + "/")) {
+            return routeTask(exchange, method, path.substring(TASKS_PATH.length() + 1), tasks, storage);
+        }
+        return notFound("No such path: " + path);
+    }
+
+    /**
+     * Handles {@code /tasks/N}, {@code /tasks/N/mark} and {@code /tasks/N/unmark}.
+     */
+    private Response routeTask(HttpExchange exchange, String method, String rest, TaskList tasks, Storage storage)
+            throws PookieException {
+        if (rest.startsWith(ID_PREFIX)) {
+            return routeTaskById(exchange, method, rest.substring(ID_PREFIX.length()), tasks, storage);
+        }
+        int slash = rest.indexOf('/');
+        int index = parseNumber(slash < 0 ? rest : rest.substring(0, slash)) - 1;
+        String action = slash < 0 ? "" : rest.substring(slash + 1);
+        if (index < 0 || index >= tasks.size()) {
+            return notFound("No such task: " + (index < 0 ? rest : String.valueOf(index + 1)));
+        }
+
+        switch (action) {
+        case "":
+            if (method.equals("GET")) {
+                List<Task> snapshot = tasks.getTasks();
+                return index < snapshot.size()
+                        ? new Response(200, Json.appendTask(new StringBuilder(), snapshot.get(index), index + 1)
+                                .toString())
+                        : notFound("No such task: " + (index + 1));
+            }
+            if (method.equals("DELETE")) {
+                return taskResponse(tasks.deleteTask(index, ui, storage), 0);
+            }
+            return notAllowed(exchange, "GET, DELETE");
+        case "mark":
+        case "unmark":
+            if (!method.equals("POST")) {
+                return notAllowed(exchange, "POST");
+            }
+            return taskResponse(tasks.markTask(index, action.equals("mark"), ui, storage), index + 1);
+        default:
+            return notFound("No such path: " + TASKS_PATH + "/" + rest);
+        }
+    }
+
+    /**
+     * Handles {@code /tasks/id/ID}, {@code /tasks/id/ID/mark} and {@code /tasks/id/ID/unmark}.
+     */
+    private Response routeTaskById(HttpExchange exchange, String method, String rest, TaskList tasks,
+            Storage storage) throws PookieException {
+        int slash = rest.indexOf('/');
+        long id = parseId(slash < 0 ? rest : rest.substring(0, slash));
+        String action = slash < 0 ? "" : rest.substring(slash + 1);
+        if (id <= 0 || tasks.getTaskById(id) == null) {
+            return notFound("No such task: #" + (id <= 0 ? rest : String.valueOf(id)));
+        }
+
+        switch (action) {
+        case "":
+            if (method.equals("GET")) {
+                Task task = tasks.getTaskById(id);
+                return task == null ? notFound("No such task: #" + id) : taskResponse(task, 0);
+            }
+            if (method.equals("DELETE")) {
+                return taskResponse(tasks.deleteTaskById(id, ui, storage), 0);
+            }
+            return notAllowed(exchange, "GET, DELETE");
+        case "mark":
+        case "unmark":
+            if (!method.equals("POST")) {
+                return notAllowed(exchange, "POST");
+            }
+            return taskResponse(tasks.markTaskById(id, action.equals("mark"), ui, storage), 0);
+        default:
+            return notFound("No such path: " + TASKS_PATH + "/" + ID_PREFIX + rest);
+        }
+    }
+
+    private static Response listTasks(Map<String, String> query, TaskList tasks) throws PookieException {
+        String keyword = query.get("find");
+        if (keyword != null) {
+            if (keyword.isEmpty()) {
+                throw new PookieException("Princess, please provide a keyword to search for.");
+            }
+            return taskArray(tasks.findTasksReturn(keyword));
+        }
+        String date = query.get("on");
+        if (date != null) {
+            try {
+                return taskArray(tasks.getTasksOn(DateTimeCodec.parseDate(date)));
+            } catch (DateTimeParseException e) {
+                throw new PookieException("Princess, please use the date format YYYY-MM-DD (e.g. 2025-02-21).");
+            }
+        }
+
+        List<Task> snapshot = tasks.getTasks();
+        int offset = Math.min(parseOption(query, "offset", 0), snapshot.size());
+        int limit = parseOption(query, "limit", Integer.MAX_VALUE);
+        List<Task> page = snapshot.subList(offset, (int) Math.min((long) offset + limit, snapshot.size()));
+        StringBuilder body = new StringBuilder(64 + 96 * page.size());
+        body.append("{\"total\":").append(snapshot.size()).append(",\"offset\":").append(offset)
+                .append(",\"tasks\":");
+        return new Response(200, Json.appendTasks(body, page, offset + 1).append('}').toString());
+    }
+
+    private Response addTask(String commandLine, TaskList tasks, Storage storage) throws PookieException {
+        Task task = Parser.parseTaskCommand(commandLine);
+        tasks.addTask(task, ui, storage);
+        return new Response(201, Json.appendTask(new StringBuilder(), task, 0).toString());
+    }
+
+    private static Response taskArray(List<Task> matches) {
+        StringBuilder body = new StringBuilder(16 + 96 * matches.size()).append("{\"tasks\":");
+        return new Response(200, Json.appendTasks(body, matches, 0).append('}').toString());
+    }
+
+    private static Response taskResponse(Task task, int number) {
+        return new Response(200, Json.appendTask(new StringBuilder(), task, number).toString());
+    }
+
+    private static Response forbidden(String message) {
+        return new Response(403, Json.message("error", message));
+    }
+
+    private static Response notFound(String message) {
+        return new Response(404, Json.message("error", message));
+    }
+
+    private static Response notAllowed(HttpExchange exchange, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        return new Response(405, Json.message("error", "Use " + allowed + " here."));
+    }
+
+    /**
+     * Returns whether {@code exchange} was addressed to a loopback host and, if it names the page it came from,
+     * came from a page served by a loopback host, so that neither another web page nor a host name that a
+     * stranger's DNS points at this machine can reach the server.
+     */
+    private static boolean isLocal(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        return host != null && isLoopback(host) && (origin == null || isLoopbackOrigin(origin));
+    }
+
+    private static boolean isLoopbackOrigin(String origin) {
+        int schemeEnd = origin.indexOf("://");
+        String scheme = schemeEnd < 0 ? "" : origin.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+        return (scheme.equals("http") || scheme.equals("https")) && isLoopback(origin.substring(schemeEnd + 3));
+    }
+
+    /**
+     * Returns whether the authority {@code HOST[:PORT]} names a loopback host.
+     */
+    private static boolean isLoopback(String authority) {
+        int hostEnd = authority.startsWith("[") ? authority.indexOf(']') + 1 : authority.indexOf(':');
+        String host = hostEnd <= 0 ? authority : authority.substring(0, hostEnd);
+        String port = hostEnd <= 0 ? "" : authority.substring(hostEnd);
+        return LOOPBACK_HOSTS.contains(host.toLowerCase(Locale.ROOT))
+                && (port.isEmpty() || port.matches(":\\d+"));
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException, PookieException {
+        byte[] bytes = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new PookieException("Princess, that request is too long.");
+        }
+        return new String(bytes, StandardCharsets.UTF_8).trim();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8).trim());
+        }
+        return query;
+    }
+
+    private static int parseOption(Map<String, String> query, String name, int defaultValue)
+            throws PookieException {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int number = parseNumber(value);
+        if (number < 0 || (number == 0 && !name.equals("offset"))) {
+            throw new PookieException("Princess, '" + name + "' must be a positive number.");
+        }
+        return number;
+    }
+
+    /**
+     * Returns the positive task id in {@code text}, or -1 if it is not one.
+     */
+    private static long parseId(String text) {
+        try {
+            return text.isEmpty() || text.charAt(0) == '+' ? -1 : Math.max(-1, Long.parseLong(text));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the non-negative decimal number in {@code text}, or -1 if it is not one.
+     */
+    private static int parseNumber(String text) {
+        try {
+            return text.isEmpty() || text.charAt(0) == '+' ? -1 : Math.max(-1, Integer.parseInt(text));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns an executor that runs every request on a new virtual thread if this runtime has them, looked up
+     * reflectively so that the code still compiles and runs on Java 17, or else a bounded pool of daemon
+     * platform threads.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(PLATFORM_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "pookie-api-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * A status code and JSON body.
+     */
+    private static class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
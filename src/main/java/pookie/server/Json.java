@@ -0,0 +1,111 @@
+package pookie.server;
+
+import java.util.List;
+
+import pookie.task.DateTimeCodec;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+
+/**
+ * Writes the JSON documents returned by {@link ApiServer} straight into a {@link StringBuilder}.
+ * <p>
+ * A task is written as an object with its {@code type} ({@code TODO}, {@code DEADLINE}, {@code EVENT} or
+ * {@code FIXED_DURATION}), {@code done} and {@code description}, plus {@code by} for a deadline, {@code from}
+ * and {@code to} for an event, and {@code hours} for a fixed duration task. Dates use the storage format,
+ * e.g. {@code 2025-02-28 2359}.
+ */
+final class Json {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Json() {
+    }
+
+    /**
+     * Appends {@code tasks} as an array of task objects. If {@code firstNumber} is positive, each task also
+     * gets its 1-based {@code number} in the list, counting up from {@code firstNumber}.
+     */
+    static StringBuilder appendTasks(StringBuilder out, List<Task> tasks, int firstNumber) {
+        out.append('[');
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendTask(out, tasks.get(i), firstNumber > 0 ? firstNumber + i : 0);
+        }
+        return out.append(']');
+    }
+
+    /**
+     * Appends one task object, with its {@code number} if {@code number} is positive, and its id.
+     */
+    static StringBuilder appendTask(StringBuilder out, Task task, int number) {
+        out.append('{');
+        if (number > 0) {
+            out.append("\"number\":").append(number).append(',');
+        }
+        out.append("\"id\":").append(task.getId());
+        out.append(",\"type\":\"").append(task.getType().name()).append("\",\"done\":").append(task.isDone());
+        appendString(out.append(",\"description\":"), task.getDescription());
+        switch (task.getType()) {
+        case DEADLINE:
+            DateTimeCodec.appendStorage(out.append(",\"by\":\""), ((Deadline) task).getByDate()).append('"');
+            break;
+        case EVENT:
+            DateTimeCodec.appendStorage(out.append(",\"from\":\""), ((Event) task).getStartDate()).append('"');
+            DateTimeCodec.appendStorage(out.append(",\"to\":\""), ((Event) task).getEndDate()).append('"');
+            break;
+        case FIXED_DURATION:
+            out.append(",\"hours\":").append(((FixedDurationTask) task).getDuration());
+            break;
+        default:
+            break;
+        }
+        return out.append('}');
+    }
+
+    /**
+     * Returns an object with the single string field {@code name}, e.g. {@code {"error":"..."}}.
+     */
+    static String message(String name, String value) {
+        StringBuilder out = new StringBuilder(value.length() + name.length() + 8);
+        appendString(out.append('{'), name).append(':');
+        return appendString(out, value).append('}').toString();
+    }
+
+    /**
+     * Appends {@code text} as a quoted JSON string, escaping quotes, backslashes and control characters.
+     */
+    static StringBuilder appendString(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < ' ') {
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                } else {
+                    out.append(c);
+                }
+                break;
+            }
+        }
+        return out.append('"');
+    }
+}
@@ -0,0 +1,25 @@
+package pookie.server;
+
+import pookie.list.TaskCursor;
+import pookie.ui.Ui;
+
+/**
+ * A {@link Ui} that discards everything, since the API server reports results in its responses instead of
+ * on the console.
+ */
+class SilentUi extends Ui {
+    @Override
+    public void showMessage(String message) {
+        // Reported in the response instead
+    }
+
+    @Override
+    public void showError(String message) {
+        // Reported in the response instead
+    }
+
+    @Override
+    public void showTasks(String header, TaskCursor cursor, int limit, String footer) {
+        // Reported in the response instead
+    }
+}
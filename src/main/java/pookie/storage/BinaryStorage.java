@@ -0,0 +1,276 @@
+package pookie.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+
+import pookie.exception.PookieException;
+import pookie.metrics.Metrics;
+import pookie.task.DateTimeCodec;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+import pookie.task.TaskType;
+import pookie.task.ToDo;
+
+/**
+ * A {@link Storage} that keeps tasks in a compact, versioned binary snapshot instead of pipe-delimited text.
+ * <p>
+ * The file starts with the magic number {@code POOK}, a version byte and the task count. Each task is then
+ * stored as:
+ * <ul>
+ *     <li>its id as a {@code long} (from version 2; version 1 files, which have no ids, are still read),</li>
+ *     <li>a type tag byte (the {@link TaskType} ordinal) and a done flag byte,</li>
+ *     <li>the description as a length-prefixed UTF-8 string,</li>
+ *     <li>{@code by} for a {@link Deadline}, or {@code start} and {@code end} for an {@link Event}, as epoch
+ *     minutes in a {@code long} each,</li>
+ *     <li>the duration of a {@link FixedDurationTask} as an {@code int}.</li>
+ * </ul>
+ * From version 3, the tasks are followed by the CRC32 of everything before it as an {@code int}, which is
+ * checked on load. Like a text file, the snapshot is written to a temporary file and moved over the old one.
+ */
+public class BinaryStorage extends Storage {
+    /** File extension that selects the binary format in {@link Storage#forPath(String)}. */
+    public static final String EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x504F4F4B; // "POOK"
+    private static final byte VERSION = 3;
+    private static final byte VERSION_WITHOUT_CHECKSUM = 2;
+    private static final byte VERSION_WITHOUT_IDS = 1;
+    private static final TaskType[] TYPES = TaskType.values();
+    /** Largest task count the list is sized for up front, in case a damaged count is huge. */
+    private static final int MAX_PRESIZE = 1 << 16;
+    /** Longest description read, in bytes, so that a damaged length cannot exhaust memory. */
+    private static final int MAX_DESCRIPTION_BYTES = 1 << 20;
+
+    /**
+     * Constructs a {@code BinaryStorage} object with a specified file path.
+     */
+    public BinaryStorage(String filePath) {
+        super(filePath);
+    }
+
+    /**
+     * Saves the list of tasks to the file in binary form.
+     */
+    @Override
+    public void saveTasks(List<Task> tasks) throws PookieException {
+        ensureParentDirectoryExists();
+        long start = System.nanoTime();
+        long bytes;
+        try {
+            // The stream is flushed by write() but not closed, which would close the channel before it is forced
+            bytes = replaceFile(channel -> write(tasks, new BufferedOutputStream(Channels.newOutputStream(channel))));
+        } catch (IOException e) {
+            Metrics.recordStorageError();
+            throw new PookieException("Error saving tasks: " + e.getMessage());
+        }
+        Metrics.recordSave(bytes, System.nanoTime() - start);
+    }
+
+    @Override
+    protected ArrayList<Task> loadSnapshot(Checksum checksum) throws PookieException {
+        LoadReport report = startLoadReport();
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+        ArrayList<Task> tasks;
+        try (InputStream in = new CheckedInputStream(new BufferedInputStream(new FileInputStream(file)), checksum)) {
+            tasks = read(in, report);
+        } catch (IOException e) {
+            throw new PookieException("Error loading tasks from file: " + e.getMessage());
+        }
+        if (report != null && report.hasProblems()) {
+            quarantineFile(report);
+        }
+        return tasks;
+    }
+
+    /**
+     * Copies the whole damaged file aside, since binary records cannot be told apart once one is damaged.
+     */
+    private void quarantineFile(LoadReport report) throws PookieException {
+        File copy = getQuarantineFile();
+        try {
+            Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new PookieException("Error setting damaged tasks aside: " + e.getMessage());
+        }
+        report.addNote("The damaged file was copied to " + copy.getPath() + ".");
+    }
+
+    /**
+     * Returns a new file for each damaged snapshot, so that an earlier copy is never overwritten.
+     */
+    @Override
+    protected File getQuarantineFile() {
+        return new File(filePath + "." + System.currentTimeMillis() + ".quarantine");
+    }
+
+    /**
+     * Writes {@code tasks} to {@code out} in the binary snapshot format.
+     */
+    public static void write(List<Task> tasks, OutputStream out) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(tasks.size());
+        for (Task task : tasks) {
+            assert task != null : "Task should not be null before saving";
+            data.writeLong(task.getId());
+            data.writeByte(task.getType().ordinal());
+            data.writeBoolean(task.isDone());
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            data.writeInt(description.length);
+            data.write(description);
+            switch (task.getType()) {
+            case DEADLINE:
+                data.writeLong(DateTimeCodec.toEpochMinute(((Deadline) task).getByDate()));
+                break;
+            case EVENT:
+                data.writeLong(DateTimeCodec.toEpochMinute(((Event) task).getStartDate()));
+                data.writeLong(DateTimeCodec.toEpochMinute(((Event) task).getEndDate()));
+                break;
+            case FIXED_DURATION:
+                data.writeInt(((FixedDurationTask) task).getDuration());
+                break;
+            default:
+                break;
+            }
+        }
+        data.writeInt((int) checked.getChecksum().getValue());
+        data.flush();
+    }
+
+    /**
+     * Reads tasks in the binary snapshot format from {@code in}.
+     *
+     * @throws PookieException If the data is not a supported binary snapshot, is truncated or is corrupted.
+     */
+    public static ArrayList<Task> read(InputStream in) throws IOException, PookieException {
+        return read(in, null);
+    }
+
+    /**
+     * Reads tasks like {@link #read(InputStream)}. With a {@code report}, a damaged snapshot does not fail:
+     * the tasks before the first damaged one are returned and the problem is added to the report. Records are
+     * not delimited, so nothing after a damaged one can be recovered.
+     */
+    static ArrayList<Task> read(InputStream in, LoadReport report) throws IOException, PookieException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try {
+            if (!readInto(in, tasks)) {
+                if (report == null) {
+                    throw new PookieException("Error: Task data is corrupted; its checksum does not match.");
+                }
+                report.addChecksumMismatch();
+            }
+        } catch (PookieException e) {
+            if (report == null) {
+                throw e;
+            }
+            report.addNote("Only the first " + tasks.size() + " tasks could be read. " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads a snapshot from {@code in} into {@code tasks}, which holds the tasks read so far if it fails.
+     *
+     * @return Whether the snapshot's checksum matched, or {@code true} for versions without one.
+     */
+    private static boolean readInto(InputStream in, ArrayList<Task> tasks) throws IOException, PookieException {
+        CheckedInputStream checked = new CheckedInputStream(in, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new PookieException("Error: Not a binary task file.");
+            }
+            byte version = data.readByte();
+            if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+                throw new PookieException("Error: Unsupported binary task file version " + version + ".");
+            }
+            int count = data.readInt();
+            if (count < 0) {
+                throw new PookieException("Error: Task data is corrupted.");
+            }
+            tasks.ensureCapacity(Math.min(count, MAX_PRESIZE));
+            for (int i = 0; i < count; i++) {
+                long id = version == VERSION_WITHOUT_IDS ? 0 : data.readLong();
+                if (id < 0) {
+                    throw new PookieException("Error: Task data is corrupted.");
+                }
+                Task task = readTask(data);
+                if (id != 0) {
+                    task.setId(id);
+                }
+                tasks.add(task);
+            }
+            int actual = (int) checked.getChecksum().getValue(); // Before reading the checksum updates it
+            return version <= VERSION_WITHOUT_CHECKSUM || data.readInt() == actual;
+        } catch (EOFException e) {
+            throw new PookieException("Error: Task data is truncated.");
+        }
+    }
+
+    private static Task readTask(DataInputStream data) throws IOException, PookieException {
+        int tag = data.readUnsignedByte();
+        if (tag >= TYPES.length) {
+            throw new PookieException("Error: Unknown task type.");
+        }
+        boolean isDone = data.readBoolean();
+        int length = data.readInt();
+        if (length < 0 || length > MAX_DESCRIPTION_BYTES) {
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        byte[] bytes = data.readNBytes(length); // Grows as it reads, so a length past the end costs nothing
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        Task task;
+        try {
+            switch (TYPES[tag]) {
+            case DEADLINE:
+                task = new Deadline(description, DateTimeCodec.fromEpochMinute(data.readLong()));
+                break;
+            case EVENT:
+                task = new Event(description, DateTimeCodec.fromEpochMinute(data.readLong()),
+                        DateTimeCodec.fromEpochMinute(data.readLong()));
+                break;
+            case FIXED_DURATION:
+                task = new FixedDurationTask(description, data.readInt());
+                break;
+            default:
+                task = new ToDo(description);
+                break;
+            }
+        } catch (RuntimeException e) { // A damaged date-time out of range
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        if (isDone) {
+            task.markDone();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,513 @@
+package pookie.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import pookie.command.Parser;
+import pookie.exception.PookieException;
+import pookie.metrics.Metrics;
+import pookie.task.Task;
+
+/**
+ * A {@link Storage} that appends one small record to a write-ahead journal for every mutation instead of
+ * rewriting the whole task file.
+ * <p>
+ * The task file remains the snapshot and keeps its usual format. Next to it live:
+ * <ul>
+ *     <li>{@code <file>.journal} - the active journal, whose header names the CRC32 of the snapshot it extends.</li>
+ *     <li>{@code <file>.journal.prev} - the previous journal while a background compaction is in flight.</li>
+ * </ul>
+ * Each record is a single line {@code <crc32> <payload>} so that a torn or corrupted tail is detected on
+ * replay and dropped without losing the records before it. Every append is forced to disk before it returns, so
+ * a change that has been saved survives a crash or power loss, at the cost of one small synchronous write per
+ * change rather than a rewrite of the whole file.
+ * <p>
+ * A journal whose header cannot be read fails the load, or, if the storage is {@linkplain #setLenient lenient},
+ * is moved to {@code <file>.journal.quarantine} and left out.
+ */
+public class JournalStorage extends Storage {
+    /** Number of journal records after which the snapshot is rewritten. */
+    public static final int DEFAULT_COMPACT_EVERY = 1000;
+
+    private static final String HEADER_PREFIX = "# base ";
+    private static final char ADD = 'A';
+    private static final char INSERT = 'I';
+    private static final char MARK = 'M';
+    private static final char DELETE = 'D';
+
+    private final File journalFile;
+    private final File previousJournalFile;
+    private final int compactEvery;
+    private final ExecutorService compactor;
+
+    private FileOutputStream journal;
+    private int recordCount;
+    private volatile boolean isCompacting;
+
+    /**
+     * Constructs a journalled storage that compacts after {@value #DEFAULT_COMPACT_EVERY} records.
+     */
+    public JournalStorage(String filePath) {
+        this(filePath, DEFAULT_COMPACT_EVERY);
+    }
+
+    /**
+     * Constructs a journalled storage.
+     *
+     * @param filePath     The path of the snapshot file.
+     * @param compactEvery The number of journal records after which a background compaction starts.
+     */
+    public JournalStorage(String filePath, int compactEvery) {
+        super(filePath);
+        assert compactEvery > 0 : "Compaction threshold must be positive";
+        this.journalFile = new File(filePath + ".journal");
+        this.previousJournalFile = new File(filePath + ".journal.prev");
+        this.compactEvery = compactEvery;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pookie-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the snapshot and replays the journal(s) on top of it.
+     */
+    @Override
+    public synchronized ArrayList<Task> loadTasks() throws PookieException {
+        long start = System.nanoTime();
+        long bytes = file.length() + journalFile.length() + previousJournalFile.length();
+        try {
+            ArrayList<Task> tasks = loadAndReplay();
+            Metrics.recordLoad(bytes, System.nanoTime() - start);
+            return tasks;
+        } catch (PookieException e) {
+            Metrics.recordStorageError();
+            throw e;
+        }
+    }
+
+    private ArrayList<Task> loadAndReplay() throws PookieException {
+        CRC32 snapshotCrc = new CRC32();
+        ArrayList<Task> tasks = loadSnapshot(snapshotCrc);
+        long base = snapshotCrc.getValue();
+        LoadReport report = getLoadReport();
+        if (report != null && !report.getRejected().isEmpty()) {
+            // Records address tasks by position, which skipping damaged snapshot records has shifted
+            setJournalsAside(report);
+            saveTasks(tasks);
+            return tasks;
+        }
+
+        Replay current = Replay.read(journalFile);
+        setAsideIfDamaged(journalFile, current, report);
+        boolean needsCompaction = previousJournalFile.exists();
+        if (current.base == base) {
+            needsCompaction |= !current.apply(tasks);
+        } else {
+            Replay previous = Replay.read(previousJournalFile);
+            setAsideIfDamaged(previousJournalFile, previous, report);
+            if (previous.base == base) {
+                // A compaction was interrupted: the old snapshot plus both journals is the latest state.
+                previous.apply(tasks);
+                current.apply(tasks);
+                needsCompaction = true;
+            }
+        }
+
+        if (needsCompaction) {
+            saveTasks(tasks);
+        } else {
+            openJournal(base, current);
+        }
+        return tasks;
+    }
+
+    /**
+     * Fails the load if the header of {@code journalFile} could not be read, or, if {@code report} shows that
+     * this storage is lenient, moves it to {@code <journal>.quarantine} and notes that in the report.
+     */
+    private void setAsideIfDamaged(File journalFile, Replay replay, LoadReport report) throws PookieException {
+        if (!replay.isDamaged) {
+            return;
+        }
+        String problem = "The header of " + journalFile.getPath() + " is damaged.";
+        if (report == null) {
+            throw new PookieException("Error: " + problem);
+        }
+        File target = new File(journalFile.getPath() + ".quarantine");
+        try {
+            move(journalFile, target);
+        } catch (IOException e) {
+            throw new PookieException("Error setting the journal aside: " + e.getMessage());
+        }
+        report.addNote(problem + " Its changes were not replayed; they are in " + target.getPath() + ".");
+    }
+
+    /**
+     * Moves the journals that hold records to {@code <file>.journal.quarantine} and
+     * {@code <file>.journal.prev.quarantine} rather than replaying them onto the wrong tasks.
+     */
+    private void setJournalsAside(LoadReport report) throws PookieException {
+        try {
+            for (File journalToSetAside : new File[] {previousJournalFile, journalFile}) {
+                Replay replay = Replay.read(journalToSetAside);
+                if (replay.records > 0 || replay.isDamaged) {
+                    File target = new File(journalToSetAside.getPath() + ".quarantine");
+                    move(journalToSetAside, target);
+                    report.addNote("Changes since the last full save were not replayed; they are in "
+                            + target.getPath() + ".");
+                }
+            }
+        } catch (IOException e) {
+            throw new PookieException("Error setting the journal aside: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the snapshot in place and starts a fresh journal.
+     */
+    @Override
+    public synchronized void saveTasks(List<Task> tasks) throws PookieException {
+        ensureParentDirectoryExists();
+        byte[] snapshot = serialize(tasks);
+        try {
+            awaitCompaction();
+            closeJournal();
+            writeSnapshot(snapshot);
+            Files.deleteIfExists(previousJournalFile.toPath());
+            startJournal(checksum(snapshot));
+        } catch (IOException e) {
+            Metrics.recordStorageError();
+            throw new PookieException("Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void saveAddition(List<Task> tasks, Task task) throws PookieException {
+        append(tasks, ADD + " " + task.toFileFormat());
+    }
+
+    /**
+     * Appends one record per added task in a single write.
+     */
+    @Override
+    public synchronized void saveAdditions(List<Task> tasks, List<Task> added) throws PookieException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        for (Task task : added) {
+            records.writeBytes(encodeRecord(ADD + " " + task.toFileFormat()));
+        }
+        append(tasks, records.toByteArray(), added.size());
+    }
+
+    @Override
+    public synchronized void saveInsertion(List<Task> tasks, int index, Task task) throws PookieException {
+        append(tasks, INSERT + " " + index + " " + task.toFileFormat());
+    }
+
+    @Override
+    public synchronized void saveMarking(List<Task> tasks, int index) throws PookieException {
+        append(tasks, MARK + " " + index + " " + (tasks.get(index).isDone() ? 1 : 0));
+    }
+
+    @Override
+    public synchronized void saveDeletion(List<Task> tasks, int index) throws PookieException {
+        append(tasks, DELETE + " " + index);
+    }
+
+    /**
+     * Waits for any in-flight compaction and closes the journal.
+     */
+    @Override
+    public void close() throws PookieException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                closeJournal();
+            } catch (IOException e) {
+                throw new PookieException("Error closing journal: " + e.getMessage());
+            }
+        }
+    }
+
+    private void append(List<Task> tasks, String payload) throws PookieException {
+        append(tasks, encodeRecord(payload), 1);
+    }
+
+    private void append(List<Task> tasks, byte[] records, int count) throws PookieException {
+        try {
+            if (journal == null) {
+                saveTasks(tasks);
+                return;
+            }
+            journal.write(records);
+            journal.getChannel().force(false);
+            Metrics.recordJournalAppend(count, records.length);
+            recordCount += count;
+            if (recordCount >= compactEvery && !isCompacting) {
+                startCompaction(tasks);
+            }
+        } catch (IOException e) {
+            Metrics.recordStorageError();
+            throw new PookieException("Error writing to journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes the current list on the caller's thread, rotates the journal and hands the snapshot write
+     * to the background compactor, or writes it on the caller's thread once the storage has been closed.
+     */
+    private void startCompaction(List<Task> tasks) throws IOException {
+        byte[] snapshot = serialize(tasks);
+        closeJournal();
+        move(journalFile, previousJournalFile);
+        startJournal(checksum(snapshot));
+        isCompacting = true;
+        try {
+            compactor.execute(() -> finishCompaction(snapshot));
+        } catch (RejectedExecutionException e) {
+            isCompacting = false;
+            writeSnapshot(snapshot);
+            Files.deleteIfExists(previousJournalFile.toPath());
+        }
+    }
+
+    private void finishCompaction(byte[] snapshot) {
+        try {
+            writeSnapshot(snapshot);
+            Files.deleteIfExists(previousJournalFile.toPath());
+        } catch (IOException e) {
+            // The previous journal is kept, so the next load still sees every record.
+            Metrics.recordStorageError();
+            System.err.println("Journal compaction failed: " + e.getMessage());
+        } finally {
+            isCompacting = false;
+        }
+    }
+
+    /**
+     * Blocks until the compaction queued before this call, if any, has finished writing its snapshot.
+     */
+    private void awaitCompaction() throws IOException {
+        if (!isCompacting) {
+            return;
+        }
+        try {
+            compactor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for compaction");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } catch (RejectedExecutionException e) {
+            throw new IOException("The journal was closed while compacting");
+        }
+    }
+
+    /**
+     * Replaces the snapshot file with {@code snapshot} and its checksum line. The journal header names the
+     * same checksum, which covers the records but not the checksum line itself.
+     */
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+        long start = System.nanoTime();
+        byte[] checksumLine = checksumLine(checksum(snapshot)).getBytes(Charset.defaultCharset());
+        long bytes = replaceFile(channel -> {
+            ByteBuffer[] buffers = {ByteBuffer.wrap(snapshot), ByteBuffer.wrap(checksumLine)};
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        });
+        Metrics.recordSave(bytes, System.nanoTime() - start);
+    }
+
+    private void openJournal(long base, Replay replay) throws PookieException {
+        try {
+            if (!journalFile.exists() || replay.base != base) {
+                startJournal(base);
+                return;
+            }
+            if (replay.validLength < journalFile.length()) {
+                try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+                    raf.setLength(replay.validLength); // Drop a torn tail before appending after it
+                }
+            }
+            journal = new FileOutputStream(journalFile, true);
+            recordCount = replay.records;
+        } catch (IOException e) {
+            throw new PookieException("Error opening journal: " + e.getMessage());
+        }
+    }
+
+    private void startJournal(long base) throws IOException {
+        ensureParentDirectoryExists();
+        journal = new FileOutputStream(journalFile, false);
+        journal.write((HEADER_PREFIX + Long.toHexString(base) + "\n").getBytes(StandardCharsets.UTF_8));
+        recordCount = 0;
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private static byte[] serialize(List<Task> tasks) {
+        StringBuilder builder = new StringBuilder();
+        for (Task task : tasks) {
+            task.appendFileFormat(builder).append(System.lineSeparator());
+        }
+        return builder.toString().getBytes(Charset.defaultCharset());
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private static byte[] encodeRecord(String payload) {
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        byte[] prefix = (String.format("%08x", crc.getValue()) + " ").getBytes(StandardCharsets.UTF_8);
+        byte[] record = new byte[prefix.length + body.length + 1];
+        System.arraycopy(prefix, 0, record, 0, prefix.length);
+        System.arraycopy(body, 0, record, prefix.length, body.length);
+        record[record.length - 1] = '\n';
+        return record;
+    }
+
+    /**
+     * The validated contents of one journal file.
+     */
+    private static class Replay {
+        private long base = -1;
+        /** Whether the file has a header that cannot be read, so that none of it can be trusted. */
+        private boolean isDamaged;
+        private final ArrayList<String> payloads = new ArrayList<>();
+        private long validLength;
+        private int records;
+
+        static Replay read(File journalFile) throws PookieException {
+            Replay replay = new Replay();
+            if (!journalFile.exists()) {
+                return replay;
+            }
+            byte[] bytes;
+            try {
+                bytes = Files.readAllBytes(journalFile.toPath());
+            } catch (IOException e) {
+                throw new PookieException("Error reading journal: " + e.getMessage());
+            }
+
+            int start = 0;
+            while (start < bytes.length) {
+                int end = start;
+                while (end < bytes.length && bytes[end] != '\n') {
+                    end++;
+                }
+                if (end == bytes.length) {
+                    break; // Torn tail: the record was never terminated
+                }
+                String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                if (start == 0) {
+                    if (!line.startsWith(HEADER_PREFIX)) {
+                        replay.isDamaged = true;
+                        break;
+                    }
+                    try {
+                        replay.base = Long.parseLong(line.substring(HEADER_PREFIX.length()), 16);
+                    } catch (NumberFormatException e) {
+                        replay.isDamaged = true;
+                        break;
+                    }
+                } else if (!replay.accept(line)) {
+                    break;
+                }
+                start = end + 1;
+                replay.validLength = start;
+            }
+            return replay;
+        }
+
+        private boolean accept(String line) {
+            if (line.length() < 10 || line.charAt(8) != ' ') {
+                return false;
+            }
+            String payload = line.substring(9);
+            CRC32 crc = new CRC32();
+            crc.update(payload.getBytes(StandardCharsets.UTF_8));
+            try {
+                if (Long.parseLong(line.substring(0, 8), 16) != crc.getValue()) {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            payloads.add(payload);
+            records++;
+            return true;
+        }
+
+        /**
+         * Applies the records to {@code tasks}, stopping at the first one that does not fit.
+         *
+         * @return Whether every record in the file was valid and applied.
+         */
+        boolean apply(ArrayList<Task> tasks) {
+            for (String payload : payloads) {
+                try {
+                    String argument = payload.substring(2);
+                    switch (payload.charAt(0)) {
+                    case ADD:
+                        tasks.add(Parser.parseTaskFromLine(argument));
+                        break;
+                    case INSERT:
+                        int space = argument.indexOf(' ');
+                        tasks.add(Integer.parseInt(argument.substring(0, space)),
+                                Parser.parseTaskFromLine(argument.substring(space + 1)));
+                        break;
+                    case MARK:
+                        String[] parts = argument.split(" ");
+                        Task task = tasks.get(Integer.parseInt(parts[0]));
+                        if (parts[1].equals("1")) {
+                            task.markDone();
+                        } else {
+                            task.markNotDone();
+                        }
+                        break;
+                    case DELETE:
+                        tasks.remove(Integer.parseInt(argument));
+                        break;
+                    default:
+                        return false;
+                    }
+                } catch (PookieException | RuntimeException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package pookie.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a lenient load of a task file set aside instead of failing: the records that could not be read, with
+ * their line numbers, whether the file's checksum matched, and notes on anything else that was skipped.
+ * <p>
+ * {@link Storage} appends the rejected records to a quarantine file next to the task file, so that they can be
+ * repaired by hand and imported again:
+ * <pre>
+ * # 2025-03-01T10:15:30 set aside from data/pookie.txt
+ * # line 3: Error: Unknown task type.
+ * X | 0 | read book
+ * </pre>
+ */
+public class LoadReport {
+    /** Most line numbers listed by {@link #describe()}; the rest are only counted. */
+    private static final int MAX_DESCRIBED_LINES = 10;
+
+    private final ArrayList<Rejected> rejected = new ArrayList<>();
+    private final ArrayList<String> notes = new ArrayList<>();
+    private boolean isChecksumMismatch;
+    private File quarantineFile;
+
+    /**
+     * Returns whether anything was set aside or found to be wrong.
+     */
+    public boolean hasProblems() {
+        return !rejected.isEmpty() || isChecksumMismatch || !notes.isEmpty();
+    }
+
+    public List<Rejected> getRejected() {
+        return Collections.unmodifiableList(rejected);
+    }
+
+    public boolean isChecksumMismatch() {
+        return isChecksumMismatch;
+    }
+
+    /**
+     * Returns the file the rejected records were written to, or {@code null} if they were not written.
+     */
+    public File getQuarantineFile() {
+        return quarantineFile;
+    }
+
+    void addRejected(List<Rejected> records) {
+        rejected.addAll(records);
+    }
+
+    void addChecksumMismatch() {
+        isChecksumMismatch = true;
+    }
+
+    void addNote(String note) {
+        notes.add(note);
+    }
+
+    /**
+     * Appends the rejected records to {@code file}, each after a comment naming its line and what was wrong.
+     */
+    void writeQuarantine(File file, String source) throws IOException {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        StringBuilder out = new StringBuilder("# ")
+                .append(LocalDateTime.now().withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .append(" set aside from ").append(source).append('\n');
+        for (Rejected record : rejected) {
+            out.append("# line ").append(record.lineNumber).append(": ").append(record.reason).append('\n')
+                    .append(record.record).append('\n');
+        }
+        Files.writeString(file.toPath(), out, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        quarantineFile = file;
+    }
+
+    /**
+     * Describes what was set aside, for the user.
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder("Princess, some of your saved tasks were damaged!");
+        if (!rejected.isEmpty()) {
+            description.append(" I loaded the rest, and set ").append(rejected.size())
+                    .append(rejected.size() == 1 ? " line aside (line " : " lines aside (lines ");
+            for (int i = 0; i < Math.min(rejected.size(), MAX_DESCRIBED_LINES); i++) {
+                description.append(i == 0 ? "" : ", ").append(rejected.get(i).lineNumber);
+            }
+            if (rejected.size() > MAX_DESCRIBED_LINES) {
+                description.append(", ...");
+            }
+            description.append(')');
+            if (quarantineFile != null) {
+                description.append(" in ").append(quarantineFile.getPath());
+            }
+            description.append('.');
+        }
+        if (isChecksumMismatch) {
+            description.append(" The file's checksum did not match, so some tasks may have changed.");
+        }
+        for (String note : notes) {
+            description.append(' ').append(note);
+        }
+        return description.toString();
+    }
+
+    /**
+     * A record that could not be read.
+     */
+    public static final class Rejected {
+        private long offset;
+        private long lineNumber;
+        private final String record;
+        private final String reason;
+
+        Rejected(long offset, String record, String reason) {
+            this.offset = offset;
+            this.record = record;
+            this.reason = reason;
+        }
+
+        /**
+         * Returns the line of the record in the task file, counting from 1.
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getRecord() {
+            return record;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        long getOffset() {
+            return offset;
+        }
+
+        void moveBy(long distance) {
+            offset += distance;
+        }
+
+        void setLineNumber(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package pookie.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import pookie.exception.PookieException;
+import pookie.task.DateTimeCodec;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+/**
+ * Loads a task file by memory-mapping it and scanning the {@code 12 | T | 0 | ...} records directly on the bytes.
+ * Records without an id, as saved by earlier versions, are read too.
+ * <p>
+ * Unlike {@link pookie.command.Parser#parseTaskFromLine}, no regex split or {@code DateTimeFormatter} is
+ * involved: dates are decoded in place by {@link DateTimeCodec}, and trailing fields are located from the end
+ * of the record so only the description is copied out of the mapping.
+ */
+public class MappedTaskLoader {
+    /** Largest region mapped at once; big files are processed window by window at record boundaries. */
+    private static final long MAX_WINDOW = 1L << 30;
+    private static final int DATE_TIME_WIDTH = DateTimeCodec.STORAGE_WIDTH;
+    private static final int SEPARATOR_WIDTH = 3;
+    private static final int HEADER_WIDTH = 4; // "T | "
+    private static final int STATUS_WIDTH = 4; // "0 | "
+    private static final int MAX_ID_DIGITS = 18;
+    /** Longest checksum line looked for at the end of a file, with room for stray line terminators. */
+    private static final int MAX_CHECKSUM_LINE = 64;
+
+    private final Charset charset;
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Constructs a loader that decodes descriptions with the platform charset, matching {@link Storage}.
+     */
+    public MappedTaskLoader() {
+        this(Charset.defaultCharset());
+    }
+
+    /**
+     * Constructs a loader that decodes descriptions with the given charset.
+     */
+    public MappedTaskLoader(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Loads every task in {@code file}, feeding the bytes of its records into {@code checksum}. If the file ends
+     * with a checksum line, as written by {@link Storage#saveTasks}, the records are checked against it.
+     *
+     * @param file     The task file in the format written by {@link Task#toFileFormat()}.
+     * @param checksum A checksum to update with the records, or {@code null}.
+     * @return The tasks in file order.
+     * @throws PookieException If the file cannot be read, a record is malformed or the checksum does not match.
+     */
+    public ArrayList<Task> load(File file, Checksum checksum) throws PookieException {
+        return load(file, checksum, null);
+    }
+
+    /**
+     * Loads every task in {@code file} like {@link #load(File, Checksum)}. With a {@code report}, the load is
+     * lenient: malformed records are skipped and added to the report with their line numbers, and a checksum
+     * that does not match is noted there, so that one damaged record never costs the rest of the file.
+     *
+     * @param report The report to add skipped records to, or {@code null} to fail on the first one.
+     * @throws PookieException If the file cannot be read or, without a report, if anything in it is wrong.
+     */
+    public ArrayList<Task> load(File file, Checksum checksum, LoadReport report) throws PookieException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        ArrayList<LoadReport.Rejected> rejected = report == null ? null : new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long checksumStart = findChecksumLine(channel, size);
+            long expected = checksumStart < 0 ? -1 : readChecksumLine(channel, checksumStart, size);
+            CRC32 actual = checksumStart < 0 ? null : new CRC32();
+            if (checksumStart >= 0) {
+                size = checksumStart;
+            }
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(size - position, MAX_WINDOW);
+                boolean isLastWindow = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = recordBoundary(buffer, isLastWindow);
+                if (consumed == 0) {
+                    throw new PookieException("Error: Task record is too long to load.");
+                }
+                int rejectedBefore = rejected == null ? 0 : rejected.size();
+                parseWindow(buffer, consumed, tasks, rejected);
+                for (int i = rejectedBefore; rejected != null && i < rejected.size(); i++) {
+                    rejected.get(i).moveBy(position);
+                }
+                if (checksum != null) {
+                    checksum.update(buffer.slice(0, consumed));
+                }
+                if (actual != null) {
+                    actual.update(buffer.slice(0, consumed));
+                }
+                position += consumed;
+            }
+            if (rejected != null && !rejected.isEmpty()) {
+                numberLines(channel, rejected);
+                report.addRejected(rejected);
+            }
+            if (actual != null && actual.getValue() != expected) {
+                if (report != null) {
+                    report.addChecksumMismatch();
+                    return tasks;
+                }
+                throw new PookieException("Error: Task file is corrupted; its checksum does not match. If you "
+                        + "edited it by hand, delete its last line (" + Storage.CHECKSUM_PREFIX.trim()
+                        + " ...) to keep your changes.");
+            }
+        } catch (IOException e) {
+            throw new PookieException("Error loading tasks from file: " + e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the offset of the checksum line that ends the first {@code size} bytes of {@code channel}, or -1
+     * if the last line is not one.
+     */
+    private static long findChecksumLine(FileChannel channel, long size) throws IOException {
+        ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, MAX_CHECKSUM_LINE));
+        long tailStart = size - tail.capacity();
+        while (tail.hasRemaining() && channel.read(tail, tailStart + tail.position()) >= 0) {
+            // Read until the tail is full
+        }
+        int end = tail.position();
+        while (end > 0 && (tail.get(end - 1) == '\n' || tail.get(end - 1) == '\r')) {
+            end--;
+        }
+        int lineStart = end;
+        while (lineStart > 0 && tail.get(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        if (lineStart == 0 && tailStart > 0 || end - lineStart == 0 || tail.get(lineStart) != '#') {
+            return -1;
+        }
+        return tailStart + lineStart;
+    }
+
+    /**
+     * Returns the CRC32 named by the checksum line in {@code [start, end)} of {@code channel}, or -1 if the line
+     * is damaged, in which case no checksum can match it.
+     */
+    private static long readChecksumLine(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate((int) (end - start));
+        while (line.hasRemaining() && channel.read(line, start + line.position()) >= 0) {
+            // Read the whole line
+        }
+        String text = new String(line.array(), 0, line.position(), StandardCharsets.US_ASCII).trim();
+        if (!text.startsWith(Storage.CHECKSUM_PREFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(text.substring(Storage.CHECKSUM_PREFIX.length()), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Sets the line number of each record in {@code rejected}, which are in file order, by counting the lines
+     * before them. This second pass over the file is only made when records were rejected.
+     */
+    private static void numberLines(FileChannel channel, List<LoadReport.Rejected> rejected) throws IOException {
+        long size = channel.size();
+        long line = 1;
+        int next = 0;
+        for (long position = 0; position < size && next < rejected.size(); position += MAX_WINDOW) {
+            long length = Math.min(size - position, MAX_WINDOW);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length && next < rejected.size(); i++) {
+                if (rejected.get(next).getOffset() == position + i) {
+                    rejected.get(next++).setLineNumber(line);
+                }
+                if (buffer.get(i) == '\n') {
+                    line++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the records in the first {@code length} bytes of a mapped window, appending them to {@code tasks}.
+     * Subclasses may override this to split the work.
+     *
+     * @param rejected The list to add malformed records to, with their offsets in the window, or {@code null}
+     *                 to fail on the first one.
+     */
+    protected void parseWindow(ByteBuffer buffer, int length, ArrayList<Task> tasks,
+            ArrayList<LoadReport.Rejected> rejected) throws PookieException {
+        parseRange(buffer, 0, length, tasks, rejected);
+    }
+
+    /**
+     * Returns the offset just past the last complete record in {@code buffer}. In the last window an
+     * unterminated final record counts as complete.
+     */
+    static int recordBoundary(ByteBuffer buffer, boolean isLastWindow) {
+        int limit = buffer.limit();
+        if (isLastWindow) {
+            return limit;
+        }
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses every record in {@code [start, end)}, where both ends lie on record boundaries.
+     *
+     * @param rejected The list to add malformed records to, or {@code null} to fail on the first one.
+     */
+    void parseRange(ByteBuffer buffer, int start, int end, ArrayList<Task> tasks,
+            ArrayList<LoadReport.Rejected> rejected) throws PookieException {
+        int recordStart = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                addRecord(buffer, recordStart, i, tasks, rejected);
+                recordStart = i + 1;
+            }
+        }
+        if (recordStart < end) {
+            addRecord(buffer, recordStart, end, tasks, rejected);
+        }
+    }
+
+    private void addRecord(ByteBuffer buffer, int start, int end, ArrayList<Task> tasks,
+            ArrayList<LoadReport.Rejected> rejected) throws PookieException {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        if (rejected == null) {
+            tasks.add(parseRecord(buffer, start, end));
+            return;
+        }
+        try {
+            tasks.add(parseRecord(buffer, start, end));
+        } catch (PookieException | RuntimeException e) {
+            rejected.add(new LoadReport.Rejected(start, decodeText(buffer, start, end), e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses the record occupying {@code [start, end)} of {@code buffer}, excluding the line terminator.
+     */
+    Task parseRecord(ByteBuffer buffer, int start, int end) throws PookieException {
+        if (!isDigit(buffer.get(start))) {
+            return parseFields(buffer, start, end); // Saved before tasks had ids
+        }
+        int idEnd = start;
+        while (idEnd < end && isDigit(buffer.get(idEnd))) {
+            idEnd++;
+        }
+        if (idEnd - start > MAX_ID_DIGITS || idEnd + SEPARATOR_WIDTH > end || !isSeparator(buffer, idEnd)) {
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        long id = 0;
+        for (int i = start; i < idEnd; i++) {
+            id = id * 10 + (buffer.get(i) - '0');
+        }
+        if (id == 0) {
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        Task task = parseFields(buffer, idEnd + SEPARATOR_WIDTH, end);
+        task.setId(id);
+        return task;
+    }
+
+    /**
+     * Parses the fields of a record that follow its id, {@code T | 0 | ...}, occupying {@code [start, end)}.
+     */
+    private Task parseFields(ByteBuffer buffer, int start, int end) throws PookieException {
+        int descriptionStart = start + HEADER_WIDTH + STATUS_WIDTH;
+        if (end < descriptionStart || !isSeparator(buffer, start + 1)
+                || !isSeparator(buffer, start + HEADER_WIDTH + 1)) {
+            throw new PookieException("Error: Task data is corrupted.");
+        }
+        byte type = buffer.get(start);
+        boolean isDone = buffer.get(start + HEADER_WIDTH) == '1';
+
+        Task task;
+        try {
+            switch (type) {
+            case 'T':
+                task = new ToDo(decodeText(buffer, descriptionStart, end));
+                break;
+            case 'D': {
+                int byStart = end - DATE_TIME_WIDTH;
+                requireSeparator(buffer, byStart - SEPARATOR_WIDTH, descriptionStart, "Missing deadline date.");
+                task = new Deadline(decodeText(buffer, descriptionStart, byStart - SEPARATOR_WIDTH),
+                        DateTimeCodec.decodeStorage(buffer, byStart));
+                break;
+            }
+            case 'E': {
+                int endStart = end - DATE_TIME_WIDTH;
+                int startStart = endStart - SEPARATOR_WIDTH - DATE_TIME_WIDTH;
+                requireSeparator(buffer, startStart - SEPARATOR_WIDTH, descriptionStart,
+                        "Missing event start and end time.");
+                requireSeparator(buffer, endStart - SEPARATOR_WIDTH, descriptionStart,
+                        "Missing event start and end time.");
+                task = new Event(decodeText(buffer, descriptionStart, startStart - SEPARATOR_WIDTH),
+                        DateTimeCodec.decodeStorage(buffer, startStart),
+                        DateTimeCodec.decodeStorage(buffer, endStart));
+                break;
+            }
+            case 'F': {
+                int durationStart = end;
+                while (durationStart > descriptionStart && isDigit(buffer.get(durationStart - 1))) {
+                    durationStart--;
+                }
+                requireSeparator(buffer, durationStart - SEPARATOR_WIDTH, descriptionStart,
+                        "Missing duration for Fixed Duration Task.");
+                task = new FixedDurationTask(decodeText(buffer, descriptionStart, durationStart - SEPARATOR_WIDTH),
+                        decodeInt(buffer, durationStart, end));
+                break;
+            }
+            default:
+                throw new PookieException("Error: Unknown task type.");
+            }
+        } catch (DateTimeException | NumberFormatException e) {
+            throw new PookieException("Error parsing task: " + e.getMessage());
+        }
+
+        if (isDone) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private static int decodeInt(ByteBuffer buffer, int start, int end) {
+        if (start == end || end - start > 9) {
+            throw new NumberFormatException("Invalid duration");
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (buffer.get(i) - '0');
+        }
+        return value;
+    }
+
+    private String decodeText(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+
+    private static void requireSeparator(ByteBuffer buffer, int pos, int descriptionStart, String message)
+            throws PookieException {
+        if (pos < descriptionStart || !isSeparator(buffer, pos)) {
+            throw new PookieException("Error: " + message);
+        }
+    }
+
+    private static boolean isSeparator(ByteBuffer buffer, int pos) {
+        return buffer.get(pos) == ' ' && buffer.get(pos + 1) == '|' && buffer.get(pos + 2) == ' ';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,123 @@
+package pookie.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import pookie.exception.PookieException;
+import pookie.task.Task;
+
+/**
+ * A {@link MappedTaskLoader} that splits each mapped window into chunks at newline boundaries and parses
+ * them concurrently on a fork-join pool.
+ * <p>
+ * Chunks are stitched back together in file order, so task numbers match a sequential load. Windows
+ * smaller than {@link #DEFAULT_MIN_PARALLEL_BYTES} are parsed on the calling thread.
+ */
+public class ParallelTaskLoader extends MappedTaskLoader {
+    /** Windows smaller than this are not worth the hand-off to other threads. */
+    public static final int DEFAULT_MIN_PARALLEL_BYTES = 1 << 20;
+
+    /** Chunks per thread, so that a slow chunk does not leave the other threads idle. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Charset charset;
+    private final int threads;
+    private final int minParallelBytes;
+
+    /**
+     * Constructs a parallel loader using the platform charset.
+     *
+     * @param threads The number of worker threads; 1 means sequential loading.
+     */
+    public ParallelTaskLoader(int threads) {
+        this(Charset.defaultCharset(), threads, DEFAULT_MIN_PARALLEL_BYTES);
+    }
+
+    /**
+     * Constructs a parallel loader.
+     *
+     * @param charset          The charset the descriptions were written in.
+     * @param threads          The number of worker threads; 1 means sequential loading.
+     * @param minParallelBytes The window size below which parsing stays sequential.
+     */
+    public ParallelTaskLoader(Charset charset, int threads, int minParallelBytes) {
+        super(charset);
+        assert threads > 0 : "Thread count must be positive";
+        this.charset = charset;
+        this.threads = threads;
+        this.minParallelBytes = minParallelBytes;
+    }
+
+    @Override
+    protected void parseWindow(ByteBuffer buffer, int length, ArrayList<Task> tasks,
+            ArrayList<LoadReport.Rejected> rejected) throws PookieException {
+        if (threads == 1 || length < minParallelBytes) {
+            super.parseWindow(buffer, length, tasks, rejected);
+            return;
+        }
+
+        int[] bounds = splitAtRecords(buffer, length, threads * CHUNKS_PER_THREAD);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            ArrayList<Future<ArrayList<Task>>> chunks = new ArrayList<>();
+            // Each chunk rejects records into its own list, which is only read once its future is done
+            ArrayList<ArrayList<LoadReport.Rejected>> chunkRejected = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                int start = bounds[i];
+                int end = bounds[i + 1];
+                ArrayList<LoadReport.Rejected> rejectedInChunk = rejected == null ? null : new ArrayList<>();
+                chunkRejected.add(rejectedInChunk);
+                chunks.add(pool.submit(() -> {
+                    ArrayList<Task> chunk = new ArrayList<>();
+                    new MappedTaskLoader(charset).parseRange(buffer, start, end, chunk, rejectedInChunk);
+                    return chunk;
+                }));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                tasks.addAll(chunks.get(i).get());
+                if (rejected != null) {
+                    rejected.addAll(chunkRejected.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PookieException("Error loading tasks: interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PookieException) {
+                throw (PookieException) e.getCause();
+            }
+            throw new PookieException("Error loading tasks: " + e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits {@code [0, length)} into at most {@code count} ranges that each start at a record.
+     *
+     * @return The range boundaries, starting with 0 and ending with {@code length}.
+     */
+    static int[] splitAtRecords(ByteBuffer buffer, int length, int count) {
+        int[] bounds = new int[count + 1];
+        int size = 1;
+        int target = length / count;
+        for (int i = 1; i < count; i++) {
+            int pos = Math.max(i * target, bounds[size - 1] + 1);
+            while (pos < length && buffer.get(pos - 1) != '\n') {
+                pos++;
+            }
+            if (pos >= length) {
+                break;
+            }
+            bounds[size++] = pos;
+        }
+        bounds[size++] = length;
+        int[] result = new int[size];
+        System.arraycopy(bounds, 0, result, 0, size);
+        return result;
+    }
+}
@@ -1,14 +1,22 @@
 package pookie.storage;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
 
-import pookie.command.Parser;
 import pookie.exception.PookieException;
+import pookie.metrics.Metrics;
 import pookie.task.Task;
 
 /**
@@ -18,14 +26,39 @@ import pookie.task.Task;
  * <p>
  * The class supports:
  * <ul>
- *     <li>Saving an {@code ArrayList<Task>} to a file.</li>
+ *     <li>Saving a {@code List<Task>} to a file.</li>
  *     <li>Loading tasks from a file into an {@code ArrayList<Task>}.</li>
  * </ul>
  * It ensures that the file is properly created if it does not exist.
+ * <p>
+ * Every mutation of the task list is reported through {@link #saveAddition}, {@link #saveAdditions},
+ * {@link #saveInsertion}, {@link #saveMarking} and {@link #saveDeletion}. This class rewrites the whole file for
+ * each of them; subclasses such as {@link JournalStorage} may persist only the change. The list passed to them is
+ * the immutable snapshot published by {@link pookie.list.TaskList}, so it may be kept and read later.
+ * <p>
+ * The task file is never rewritten in place. A full save writes {@code <file>.tmp}, forces it to disk and moves
+ * it over the task file in one step (see {@link #replaceFile}), so a crash or kill mid-save leaves the old file
+ * intact. The last line of a saved text file, {@code # crc32 <hex>}, is the CRC32 of every line before it, and
+ * loading checks it; files saved before it existed, without that line, are loaded unchecked.
+ * <p>
+ * A {@linkplain #setLenient lenient} storage loads whatever it can read instead of failing on the first damaged
+ * record. The records it skips are appended to {@code <file>.quarantine} with their line numbers, and
+ * {@link #getLoadReport()} tells what was set aside.
+ * <p>
+ * Full saves and loads, their bytes and their failures are recorded in {@link Metrics}.
  */
 public class Storage {
-    private final String filePath;
-    private final File file;
+    /** Start of the last line of a text task file, followed by the CRC32 of the lines before it in hex. */
+    static final String CHECKSUM_PREFIX = "# crc32 ";
+
+    /** Number of characters gathered before they are encoded and written. */
+    private static final int WRITE_CHUNK = 8192;
+
+    protected final String filePath;
+    protected final File file;
+    private int loadThreads = 1;
+    private boolean isLenient;
+    private LoadReport loadReport;
 
     /**
      * Constructs a {@code Storage} object with a specified file path.
@@ -36,47 +69,271 @@ public class Storage {
     }
 
     /**
-     * Saves the list of tasks to the file.
+     * Returns a storage for {@code filePath} in the format implied by its extension: binary for
+     * {@value BinaryStorage#EXTENSION} files and text otherwise.
+     */
+    public static Storage forPath(String filePath) {
+        return filePath.endsWith(BinaryStorage.EXTENSION) ? new BinaryStorage(filePath) : new Storage(filePath);
+    }
+
+    /**
+     * Sets how many threads {@link #loadTasks()} may use to parse the file. Small files are always loaded
+     * sequentially.
+     */
+    public void setLoadThreads(int loadThreads) {
+        assert loadThreads > 0 : "Thread count must be positive";
+        this.loadThreads = loadThreads;
+    }
+
+    /**
+     * Sets whether {@link #loadTasks()} skips and quarantines damaged records instead of failing on them.
      */
-    public void saveTasks(ArrayList<Task> tasks) throws PookieException {
+    public void setLenient(boolean isLenient) {
+        this.isLenient = isLenient;
+    }
+
+    /**
+     * Returns what the latest lenient load set aside, or {@code null} if the storage is not lenient or has not
+     * loaded yet.
+     */
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Saves the list of tasks to the file, followed by their checksum.
+     */
+    public void saveTasks(List<Task> tasks) throws PookieException {
         ensureParentDirectoryExists();
 
-        try (FileWriter writer = new FileWriter(file)) {
-            for (Task task : tasks) {
-                assert task != null : "Task should not be null before saving";
-                writer.write(task.toFileFormat() + System.lineSeparator());
-            }
+        long start = System.nanoTime();
+        long bytes;
+        try {
+            bytes = replaceFile(channel -> {
+                Charset charset = Charset.defaultCharset();
+                CRC32 crc = new CRC32();
+                StringBuilder chunk = new StringBuilder(WRITE_CHUNK + 256);
+                for (Task task : tasks) {
+                    assert task != null : "Task should not be null before saving";
+                    task.appendFileFormat(chunk).append(System.lineSeparator());
+                    if (chunk.length() >= WRITE_CHUNK) {
+                        writeChunk(channel, charset, chunk, crc);
+                    }
+                }
+                writeChunk(channel, charset, chunk, crc);
+                writeChunk(channel, charset, chunk.append(checksumLine(crc.getValue())), null);
+            });
         } catch (IOException e) {
+            Metrics.recordStorageError();
             throw new PookieException("Error saving tasks: " + e.getMessage());
         }
+        Metrics.recordSave(bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the checksum line that ends a text task file whose records have the CRC32 {@code crc}.
+     */
+    static String checksumLine(long crc) {
+        return CHECKSUM_PREFIX + String.format("%08x", crc) + System.lineSeparator();
+    }
+
+    /**
+     * Encodes and writes {@code chunk}, feeding the bytes into {@code crc} unless it is {@code null}, and
+     * empties it.
+     */
+    private static void writeChunk(FileChannel channel, Charset charset, StringBuilder chunk, CRC32 crc)
+            throws IOException {
+        ByteBuffer bytes = charset.encode(CharBuffer.wrap(chunk));
+        if (crc != null) {
+            crc.update(bytes.duplicate());
+        }
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        chunk.setLength(0);
+    }
+
+    /**
+     * Persists a task that has just been appended to {@code tasks}.
+     */
+    public void saveAddition(List<Task> tasks, Task task) throws PookieException {
+        saveTasks(tasks);
+    }
+
+    /**
+     * Persists tasks that have just been appended to {@code tasks} in one bulk operation.
+     */
+    public void saveAdditions(List<Task> tasks, List<Task> added) throws PookieException {
+        saveTasks(tasks);
+    }
+
+    /**
+     * Persists a task that has just been inserted at {@code index}, e.g. by undoing its deletion.
+     */
+    public void saveInsertion(List<Task> tasks, int index, Task task) throws PookieException {
+        saveTasks(tasks);
+    }
+
+    /**
+     * Persists a change to the done status of the task at {@code index}.
+     */
+    public void saveMarking(List<Task> tasks, int index) throws PookieException {
+        saveTasks(tasks);
+    }
+
+    /**
+     * Persists the removal of the task that used to be at {@code index}.
+     */
+    public void saveDeletion(List<Task> tasks, int index) throws PookieException {
+        saveTasks(tasks);
+    }
+
+    public String getFilePath() {
+        return filePath;
     }
 
     /**
      * Loads tasks from the file into an ArrayList.
      */
     public ArrayList<Task> loadTasks() throws PookieException {
+        long start = System.nanoTime();
+        try {
+            ArrayList<Task> tasks = loadSnapshot(new CRC32());
+            Metrics.recordLoad(file.length(), System.nanoTime() - start);
+            return tasks;
+        } catch (PookieException e) {
+            Metrics.recordStorageError();
+            throw e;
+        }
+    }
+
+    /**
+     * Blocks until every change reported so far has been written. Plain file storage writes through, so
+     * there is never anything pending.
+     */
+    public void flush() throws PookieException {
+        // Every save is already complete when it returns.
+    }
+
+    /**
+     * Releases any resources held by this storage. Plain file storage holds none.
+     */
+    public void close() throws PookieException {
+        // Nothing is kept open between saves.
+    }
+
+    /**
+     * Loads the snapshot file, feeding every byte read into {@code checksum}.
+     * The file is memory-mapped and scanned by {@link MappedTaskLoader}, or by {@link ParallelTaskLoader}
+     * when more than one load thread is configured.
+     */
+    protected ArrayList<Task> loadSnapshot(Checksum checksum) throws PookieException {
+        LoadReport report = startLoadReport();
         if (!file.exists()) {
             return new ArrayList<>();
         }
+        MappedTaskLoader loader = loadThreads > 1 ? new ParallelTaskLoader(loadThreads) : new MappedTaskLoader();
+        ArrayList<Task> tasks = loader.load(file, checksum, report);
+        quarantine(report);
+        return tasks;
+    }
+
+    /**
+     * Starts the report of a load, which {@link #getLoadReport()} then returns.
+     *
+     * @return The report, or {@code null} if this storage is not lenient.
+     */
+    protected LoadReport startLoadReport() {
+        loadReport = isLenient ? new LoadReport() : null;
+        return loadReport;
+    }
+
+    /**
+     * Appends the records that {@code report} rejected to {@code <file>.quarantine}, before a later save can
+     * drop them from the task file.
+     *
+     * @throws PookieException If they cannot be written, since loading without them would then lose them.
+     */
+    protected void quarantine(LoadReport report) throws PookieException {
+        if (report == null || report.getRejected().isEmpty()) {
+            return;
+        }
+        try {
+            report.writeQuarantine(getQuarantineFile(), filePath);
+        } catch (IOException e) {
+            throw new PookieException("Error setting damaged tasks aside: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the file that damaged records are set aside in.
+     */
+    protected File getQuarantineFile() {
+        return new File(filePath + ".quarantine");
+    }
+
+    /**
+     * Replaces the task file with what {@code content} writes, so that a crash at any point leaves either the
+     * old file or the complete new one. The content goes to {@code <file>.tmp} through a {@link FileChannel},
+     * which is forced to disk before the temporary file is atomically moved over the task file.
+     *
+     * @return The number of bytes written.
+     */
+    protected long replaceFile(FileContent content) throws IOException {
+        File temp = new File(filePath + ".tmp");
+        long bytes;
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            content.writeTo(channel);
+            bytes = channel.position();
+            channel.force(true);
+        }
+        move(temp, file);
+        syncParentDirectory();
+        return bytes;
+    }
 
-        ArrayList<Task> tasks = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                tasks.add(Parser.parseTaskFromLine(line));
-            }
+    /**
+     * Moves {@code source} over {@code target}, atomically where the file system supports it.
+     */
+    protected static void move(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the directory entry of a moved task file to disk, so that the move itself survives a power loss.
+     */
+    private void syncParentDirectory() {
+        File parent = file.getAbsoluteFile().getParentFile();
+        try (FileChannel directory = FileChannel.open(parent.toPath(), StandardOpenOption.READ)) {
+            directory.force(true);
         } catch (IOException e) {
-            throw new PookieException("Error loading tasks from file: " + e.getMessage());
+            // Directories cannot be opened or forced on every platform (e.g. Windows); the move still happened.
         }
-        return tasks;
     }
 
     /**
      * Ensures the parent directory exists.
      */
-    private void ensureParentDirectoryExists() {
+    protected void ensureParentDirectoryExists() {
         if (file.getParentFile() != null) {
             file.getParentFile().mkdirs();
         }
     }
+
+    /**
+     * Writes the new contents of a task file, for {@link #replaceFile}.
+     */
+    @FunctionalInterface
+    protected interface FileContent {
+        /**
+         * Writes the whole file to {@code channel}, without closing it.
+         */
+        void writeTo(FileChannel channel) throws IOException;
+    }
 }
@@ -0,0 +1,223 @@
+package pookie.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import pookie.exception.PookieException;
+import pookie.task.Task;
+
+/**
+ * A {@link Storage} that coalesces bursts of mutations and persists them in a single write through another
+ * storage, instead of saving once per mutation.
+ * <p>
+ * The first mutation after a flush opens a window. The window is flushed on a background thread once
+ * {@code delayMillis} have passed or {@code maxPending} mutations have accumulated, whichever comes first.
+ * {@link #flush()} is a durability barrier: it returns only after everything recorded before it is saved.
+ * <p>
+ * Each mutation hands over the immutable snapshot of the list that {@link pookie.list.TaskList} publishes,
+ * so the background thread writes the latest snapshot as it is, without copying it or locking the list.
+ * <p>
+ * A {@link JournalStorage} already saves a change without rewriting the file, so for one the window's changes
+ * are passed on one by one, in order, rather than merged into a full save. If one of them cannot be saved, the
+ * journal no longer matches the list, and the latest snapshot is saved in full instead.
+ */
+public class WriteBehindStorage extends Storage {
+    /** Default time a mutation may wait before it is written. */
+    public static final long DEFAULT_DELAY_MILLIS = 200;
+    /** Default number of mutations after which a flush starts immediately. */
+    public static final int DEFAULT_MAX_PENDING = 1000;
+
+    private final Storage delegate;
+    private final long delayMillis;
+    private final int maxPending;
+    private final ScheduledExecutorService flusher;
+    private final boolean isForwardingChanges;
+
+    private List<Task> pendingTasks;
+    private final ArrayList<Change> pendingChanges = new ArrayList<>();
+    private int pendingCount;
+    private PookieException lastError;
+    /** Whether a forwarded change failed, so that only a full save brings the file up to date. Flusher only. */
+    private boolean needsFullSave;
+
+    /**
+     * Constructs a write-behind storage.
+     *
+     * @param delegate    The storage that performs the actual writes.
+     * @param delayMillis The longest time a mutation waits before being flushed.
+     * @param maxPending  The number of mutations that triggers an immediate flush.
+     */
+    public WriteBehindStorage(Storage delegate, long delayMillis, int maxPending) {
+        super(delegate.filePath);
+        assert delayMillis >= 0 && maxPending > 0 : "Flush window must be non-negative and bounded";
+        this.delegate = delegate;
+        this.delayMillis = delayMillis;
+        this.maxPending = maxPending;
+        this.isForwardingChanges = delegate instanceof JournalStorage;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pookie-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void setLoadThreads(int loadThreads) {
+        delegate.setLoadThreads(loadThreads);
+    }
+
+    @Override
+    public void setLenient(boolean isLenient) {
+        delegate.setLenient(isLenient);
+    }
+
+    @Override
+    public LoadReport getLoadReport() {
+        return delegate.getLoadReport();
+    }
+
+    @Override
+    public ArrayList<Task> loadTasks() throws PookieException {
+        return delegate.loadTasks();
+    }
+
+    /**
+     * Saves the whole list immediately, after writing any pending window.
+     */
+    @Override
+    public void saveTasks(List<Task> tasks) throws PookieException {
+        flush();
+        delegate.saveTasks(tasks);
+    }
+
+    @Override
+    public void saveAddition(List<Task> tasks, Task task) throws PookieException {
+        record(tasks, storage -> storage.saveAddition(tasks, task));
+    }
+
+    @Override
+    public void saveAdditions(List<Task> tasks, List<Task> added) throws PookieException {
+        record(tasks, storage -> storage.saveAdditions(tasks, added));
+    }
+
+    @Override
+    public void saveInsertion(List<Task> tasks, int index, Task task) throws PookieException {
+        record(tasks, storage -> storage.saveInsertion(tasks, index, task));
+    }
+
+    @Override
+    public void saveMarking(List<Task> tasks, int index) throws PookieException {
+        record(tasks, storage -> storage.saveMarking(tasks, index));
+    }
+
+    @Override
+    public void saveDeletion(List<Task> tasks, int index) throws PookieException {
+        record(tasks, storage -> storage.saveDeletion(tasks, index));
+    }
+
+    /**
+     * Writes every pending mutation and waits until the write has finished.
+     */
+    @Override
+    public void flush() throws PookieException {
+        try {
+            flusher.submit(this::flushPending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PookieException("Error saving tasks: interrupted.");
+        } catch (ExecutionException e) {
+            throw new PookieException("Error saving tasks: " + e.getCause().getMessage());
+        }
+        rethrowLastError();
+    }
+
+    /**
+     * Flushes pending mutations, stops the background thread and closes the underlying storage.
+     */
+    @Override
+    public void close() throws PookieException {
+        flush();
+        flusher.shutdown();
+        delegate.close();
+    }
+
+    private synchronized void record(List<Task> tasks, Change change) throws PookieException {
+        rethrowLastError();
+        pendingTasks = tasks;
+        if (isForwardingChanges) {
+            pendingChanges.add(change);
+        }
+        pendingCount++;
+        if (pendingCount == 1) {
+            flusher.schedule(this::flushPending, delayMillis, TimeUnit.MILLISECONDS);
+        } else if (pendingCount == maxPending) {
+            flusher.execute(this::flushPending);
+        }
+    }
+
+    /**
+     * Runs on the flusher thread only, so flushes never overlap or reorder.
+     */
+    private void flushPending() {
+        List<Task> snapshot;
+        List<Change> changes;
+        synchronized (this) {
+            snapshot = pendingTasks;
+            changes = new ArrayList<>(pendingChanges);
+            pendingTasks = null;
+            pendingChanges.clear();
+            pendingCount = 0;
+        }
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            if (isForwardingChanges && !needsFullSave && forward(changes)) {
+                return;
+            }
+            delegate.saveTasks(snapshot);
+            needsFullSave = false;
+        } catch (PookieException e) {
+            synchronized (this) {
+                lastError = e;
+            }
+        }
+    }
+
+    /**
+     * Passes {@code changes} on to the delegate in order, stopping at the first that cannot be saved.
+     *
+     * @return Whether every change was saved.
+     */
+    private boolean forward(List<Change> changes) {
+        try {
+            for (Change change : changes) {
+                change.saveTo(delegate);
+            }
+            return true;
+        } catch (PookieException e) {
+            needsFullSave = true;
+            return false;
+        }
+    }
+
+    private synchronized void rethrowLastError() throws PookieException {
+        if (lastError != null) {
+            PookieException error = lastError;
+            lastError = null;
+            throw error;
+        }
+    }
+
+    /**
+     * A recorded change, as the call that saves it to a storage.
+     */
+    private interface Change {
+        void saveTo(Storage storage) throws PookieException;
+    }
+}
@@ -0,0 +1,226 @@
+package pookie.task;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Encodes and decodes the date-time formats used by tasks, without building a {@link DateTimeFormatter} or
+ * any intermediate strings per call.
+ * <ul>
+ *     <li>The storage format is {@code yyyy-MM-dd HHmm}, e.g. {@code 2025-02-28 2359}.</li>
+ *     <li>The display format is {@code MMM dd yyyy, h:mm a} in upper case, e.g.
+ *     {@code FEB 28 2025, 11:59 PM}.</li>
+ *     <li>Dates alone are read as {@code yyyy-MM-dd} and shown as {@code MMM dd yyyy}, e.g.
+ *     {@code Feb 28 2025}.</li>
+ * </ul>
+ * Parsing follows {@code DateTimeFormatter.ofPattern}'s default smart resolution: a day past the end of the
+ * month is clamped to the last day, and {@code 2400} is midnight of the next day. Month names are always
+ * English. Years outside {@code 0001}-{@code 9999} are rare enough to be left to a {@link DateTimeFormatter}.
+ */
+public final class DateTimeCodec {
+    /** Number of characters in the storage format. */
+    public static final int STORAGE_WIDTH = 15;
+    /** Number of characters in a date on its own. */
+    public static final int DATE_WIDTH = 10;
+
+    private static final DateTimeFormatter STORAGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
+    private static final DateTimeFormatter DATE_DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct",
+        "Nov", "Dec"};
+    private static final String[] UPPER_MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP",
+        "OCT", "NOV", "DEC"};
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Appends {@code dateTime} to {@code out} in the storage format.
+     */
+    public static StringBuilder appendStorage(StringBuilder out, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > MAX_FAST_YEAR) {
+            return out.append(dateTime.format(STORAGE_FORMAT));
+        }
+        appendPadded(out, year, 4).append('-');
+        appendPadded(out, dateTime.getMonthValue(), 2).append('-');
+        appendPadded(out, dateTime.getDayOfMonth(), 2).append(' ');
+        appendPadded(out, dateTime.getHour(), 2);
+        return appendPadded(out, dateTime.getMinute(), 2);
+    }
+
+    /**
+     * Appends {@code dateTime} to {@code out} in the upper-case display format.
+     */
+    public static StringBuilder appendDisplay(StringBuilder out, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > MAX_FAST_YEAR) {
+            return out.append(dateTime.format(DISPLAY_FORMAT).toUpperCase());
+        }
+        out.append(UPPER_MONTHS[dateTime.getMonthValue() - 1]).append(' ');
+        appendPadded(out, dateTime.getDayOfMonth(), 2).append(' ');
+        appendPadded(out, year, 4).append(", ");
+        int hour = dateTime.getHour();
+        out.append(hour % 12 == 0 ? 12 : hour % 12).append(':');
+        appendPadded(out, dateTime.getMinute(), 2);
+        return out.append(hour < 12 ? " AM" : " PM");
+    }
+
+    /**
+     * Appends {@code date} to {@code out} as {@code MMM dd yyyy}.
+     */
+    public static StringBuilder appendDisplayDate(StringBuilder out, LocalDate date) {
+        int year = date.getYear();
+        if (year < 1 || year > MAX_FAST_YEAR) {
+            return out.append(date.format(DATE_DISPLAY_FORMAT));
+        }
+        out.append(MONTHS[date.getMonthValue() - 1]).append(' ');
+        appendPadded(out, date.getDayOfMonth(), 2).append(' ');
+        return appendPadded(out, year, 4);
+    }
+
+    /**
+     * Returns {@code dateTime} in the storage format.
+     */
+    public static String formatStorage(LocalDateTime dateTime) {
+        return appendStorage(new StringBuilder(STORAGE_WIDTH), dateTime).toString();
+    }
+
+    /**
+     * Parses a date-time in the storage format.
+     *
+     * @throws DateTimeParseException If {@code text} is not exactly one valid date-time in the storage format.
+     */
+    public static LocalDateTime parseStorage(CharSequence text) {
+        if (text.length() != STORAGE_WIDTH) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed as yyyy-MM-dd HHmm", text,
+                    Math.min(text.length(), STORAGE_WIDTH));
+        }
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' ') {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed as yyyy-MM-dd HHmm", text, 0);
+        }
+        return resolve(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2), digits(text, 11, 2),
+                digits(text, 13, 2), text);
+    }
+
+    /**
+     * Decodes a date-time in the storage format from the bytes at {@code [pos, pos + STORAGE_WIDTH)}.
+     *
+     * @throws DateTimeParseException If the bytes are not a valid date-time in the storage format.
+     */
+    public static LocalDateTime decodeStorage(ByteBuffer buffer, int pos) {
+        if (buffer.get(pos + 4) != '-' || buffer.get(pos + 7) != '-' || buffer.get(pos + 10) != ' ') {
+            throw invalid(pos);
+        }
+        int year = digits(buffer, pos, 4);
+        int month = digits(buffer, pos + 5, 2);
+        int day = digits(buffer, pos + 8, 2);
+        int hour = digits(buffer, pos + 11, 2);
+        int minute = digits(buffer, pos + 13, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0) {
+            throw invalid(pos);
+        }
+        return resolve(year, month, day, hour, minute, "");
+    }
+
+    /**
+     * Parses a date in the {@code yyyy-MM-dd} format.
+     *
+     * @throws DateTimeParseException If {@code text} is not exactly one valid date.
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        if (text.length() != DATE_WIDTH || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed as yyyy-MM-dd", text, 0);
+        }
+        return resolveDate(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2), text);
+    }
+
+    /**
+     * Returns {@code dateTime} as a number of minutes since {@code 1970-01-01T00:00}, dropping any seconds.
+     * Tasks are only ever given minutes, so this is how they keep their date-times in compact form.
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Returns the date-time {@code epochMinute} minutes after {@code 1970-01-01T00:00}.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime resolve(int year, int month, int day, int hour, int minute, CharSequence text) {
+        if (hour > 24 || minute > 59 || (hour == 24 && minute != 0)) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed: invalid time", text, 11);
+        }
+        int dayOfMonth = resolveDay(year, month, day, text);
+        if (hour == 24) {
+            return LocalDate.of(year, month, dayOfMonth).plusDays(1).atStartOfDay();
+        }
+        return LocalDateTime.of(year, month, dayOfMonth, hour, minute);
+    }
+
+    private static LocalDate resolveDate(int year, int month, int day, CharSequence text) {
+        return LocalDate.of(year, month, resolveDay(year, month, day, text));
+    }
+
+    /**
+     * Validates the fields of a date and returns the day of month, clamped to the length of the month.
+     */
+    private static int resolveDay(int year, int month, int day, CharSequence text) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed: invalid date", text, 0);
+        }
+        return Math.min(day, Month.of(month).length(Year.isLeap(year)));
+    }
+
+    private static int digits(CharSequence text, int pos, int width) {
+        int value = 0;
+        for (int i = pos; i < pos + width; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new DateTimeParseException("Text '" + text + "' could not be parsed at index " + i, text, i);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the decimal value of {@code width} digit bytes, or -1 if any byte is not a digit.
+     */
+    private static int digits(ByteBuffer buffer, int pos, int width) {
+        int value = 0;
+        for (int i = pos; i < pos + width; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static DateTimeParseException invalid(int pos) {
+        return new DateTimeParseException("Text could not be parsed as yyyy-MM-dd HHmm", "", pos);
+    }
+
+    private static StringBuilder appendPadded(StringBuilder out, int value, int width) {
+        int limit = 10;
+        for (int i = 1; i < width; i++) {
+            if (value < limit) {
+                out.append('0');
+            }
+            limit *= 10;
+        }
+        return out.append(value);
+    }
+}
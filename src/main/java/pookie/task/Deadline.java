@@ -1,14 +1,12 @@
 package pookie.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents an deadline task that has end time.
  * This task type allows users to specify events that have a deadline.
  */
 public class Deadline extends Task {
-    private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
     protected LocalDateTime by;
     /**
      * Constructs a Deadline task with a specified description and due date.
@@ -31,24 +29,26 @@ public class Deadline extends Task {
     }
 
     /**
-     * Converts the Deadline task into a formatted string for file storage.
-     *
-     * @return A string representation of the task in a savable format.
+     * Appends the Deadline task in a formatted string for file storage.
      */
-    public String toFileFormat() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-        return "D | " + (isDone ? "1" : "0") + " | " + description + " | " + by.format(formatter);
+    @Override
+    protected StringBuilder appendFields(StringBuilder out) {
+        out.append("D | ").append(isDone ? '1' : '0').append(" | ").append(description).append(" | ");
+        return DateTimeCodec.appendStorage(out, by);
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.DEADLINE;
     }
 
     /**
-     * Converts the Deadline task into a human-readable string format.
-     *
-     * @return A string representation of the deadline task.
+     * Appends the Deadline task in a human-readable format.
      */
     @Override
-    public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-        return "[D][" + getStatusIcon() + "] " + description + " (by: " + by.format(OUTPUT_FORMAT).toUpperCase() + ")";
+    protected StringBuilder appendDisplay(StringBuilder out) {
+        out.append("[D][").append(getStatusIcon()).append("] ").append(description).append(" (by: ");
+        return DateTimeCodec.appendDisplay(out, by).append(')');
     }
 }
 
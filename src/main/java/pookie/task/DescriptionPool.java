@@ -0,0 +1,51 @@
+package pookie.task;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide pool of task descriptions, so that the many tasks sharing a short description such as
+ * {@code meeting} or {@code standup} share one {@code String} instead of each holding a copy.
+ * <p>
+ * Only descriptions of up to {@value #MAX_LENGTH} characters are pooled, since long ones rarely repeat, and
+ * the pool holds at most {@value #MAX_SIZE} entries, so that it never takes more than a few megabytes whatever
+ * the lists it has seen. When it is full it is emptied and starts again, so that descriptions that keep
+ * recurring are pooled again straight away rather than the first ones seen holding every entry for good. Tasks
+ * keep the strings they were given, so emptying the pool only stops new tasks sharing them until they are pooled
+ * again. A lookup is one hash of the description, which is cheaper than the copy it saves.
+ */
+public final class DescriptionPool {
+    /** Longest description that is pooled. */
+    static final int MAX_LENGTH = 64;
+    /** Most descriptions held by the pool. */
+    static final int MAX_SIZE = 1 << 16;
+
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns the pooled string equal to {@code description}, pooling it first if it is not pooled yet.
+     */
+    public static String intern(String description) {
+        if (description == null || description.length() > MAX_LENGTH) {
+            return description;
+        }
+        String pooled = POOL.get(description);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= MAX_SIZE) {
+            POOL.clear();
+        }
+        pooled = POOL.putIfAbsent(description, description);
+        return pooled == null ? description : pooled;
+    }
+
+    /**
+     * Returns the number of pooled descriptions.
+     */
+    public static int size() {
+        return POOL.size();
+    }
+}
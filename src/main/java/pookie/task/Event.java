@@ -1,7 +1,6 @@
 package pookie.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import pookie.exception.PookieException;
@@ -11,9 +10,6 @@ import pookie.exception.PookieException;
  * This task type allows users to specify events that occur over a period of time.
  */
 public class Event extends Task {
-    private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-    private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-
     protected LocalDateTime start;
     protected LocalDateTime end;
     /**
@@ -41,8 +37,8 @@ public class Event extends Task {
     public Event(String description, String start, String end) throws PookieException {
         super(description);
         try {
-            this.start = LocalDateTime.parse(start, INPUT_FORMAT);
-            this.end = LocalDateTime.parse(end, INPUT_FORMAT);
+            this.start = DateTimeCodec.parseStorage(start);
+            this.end = DateTimeCodec.parseStorage(end);
         } catch (DateTimeParseException e) {
             throw new PookieException("Princess, please enter the event times in the correct format: "
                     + "yyyy-MM-dd HHmm (e.g., 2019-12-02 1800).");
@@ -50,26 +46,28 @@ public class Event extends Task {
     }
 
     /**
-     * Converts the Event task into a formatted string for file storage.
-     *
-     * @return A string representation of the task in a savable format.
+     * Appends the Event task in a formatted string for file storage.
      */
     @Override
-    public String toFileFormat() {
-        return "E | " + (isDone ? "1" : "0") + " | " + description + " | " + start.format(INPUT_FORMAT) + " | "
-                + end.format(INPUT_FORMAT);
+    protected StringBuilder appendFields(StringBuilder out) {
+        out.append("E | ").append(isDone ? '1' : '0').append(" | ").append(description).append(" | ");
+        DateTimeCodec.appendStorage(out, start).append(" | ");
+        return DateTimeCodec.appendStorage(out, end);
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.EVENT;
     }
 
     /**
-     * Converts the Event task into a human-readable string format.
-     *
-     * @return A string representation of the event task.
+     * Appends the Event task in a human-readable format.
      */
     @Override
-    public String toString() {
-        return "[E][" + getStatusIcon() + "] " + description + " (from: " + start.format(OUTPUT_FORMAT).toUpperCase()
-                + " to: " + end.format(OUTPUT_FORMAT).toUpperCase() + ")";
-
+    protected StringBuilder appendDisplay(StringBuilder out) {
+        out.append("[E][").append(getStatusIcon()).append("] ").append(description).append(" (from: ");
+        DateTimeCodec.appendDisplay(out, start).append(" to: ");
+        return DateTimeCodec.appendDisplay(out, end).append(')');
     }
 
     /**
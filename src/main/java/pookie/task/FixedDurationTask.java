@@ -25,19 +25,26 @@ public class FixedDurationTask extends Task {
     }
 
     /**
-     * Converts the FixedDurationTask to a savable file format.
+     * Appends the FixedDurationTask in a savable file format.
      */
     @Override
-    public String toFileFormat() {
-        return "F | " + (isDone ? "1" : "0") + " | " + description + " | " + duration;
+    protected StringBuilder appendFields(StringBuilder out) {
+        return out.append("F | ").append(isDone ? '1' : '0').append(" | ").append(description).append(" | ")
+                .append(duration);
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.FIXED_DURATION;
     }
 
     /**
-     * Returns a string representation of the FixedDurationTask.
+     * Appends a string representation of the FixedDurationTask.
      */
     @Override
-    public String toString() {
-        return "[F][" + getStatusIcon() + "] " + description + " (Duration: " + duration + " hours)";
+    protected StringBuilder appendDisplay(StringBuilder out) {
+        return out.append("[F][").append(getStatusIcon()).append("] ").append(description).append(" (Duration: ")
+                .append(duration).append(" hours)");
     }
 }
 
@@ -6,10 +6,20 @@ package pookie.task;
  * A task has a description and a completion status (done or not done).
  * This class serves as a base for specific types of tasks such as {@code ToDo}, {@code Deadline}, and {@code Event}.
  * </p>
+ * <p>
+ * Descriptions are shared through the {@link DescriptionPool}, and the display string returned by
+ * {@link #toString()} is rendered once and kept until the task is marked or unmarked, so listing unchanged
+ * tasks again does not format their dates again.
+ * </p>
  */
 public abstract class Task {
+    /** Position of the status icon in every display string, as in {@code [T][X] read book}. */
+    private static final int STATUS_POSITION = 4;
+
     protected String description;
     protected boolean isDone;
+    private long id;
+    private String display;
 
     /**
      * Constructs a new Task with a given description.
@@ -18,7 +28,7 @@ public abstract class Task {
      * @param description The description of the task.
      */
     public Task(String description) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.isDone = false;
     }
 
@@ -32,11 +42,19 @@ public abstract class Task {
         return (isDone ? "X" : " "); // mark done task with X
     }
 
+    /**
+     * Returns whether the task has been marked as done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Marks the task as done.
      */
     public void markDone() {
         this.isDone = true;
+        this.display = null;
     }
 
     /**
@@ -44,17 +62,85 @@ public abstract class Task {
      */
     public void markNotDone() {
         this.isDone = false;
+        this.display = null;
     }
 
     /**
      * Converts the task into a format suitable for saving to a file.
-     * This method must be implemented by subclasses.
      *
      * @return A formatted string representation of the task.
      */
-    public abstract String toFileFormat();
+    public String toFileFormat() {
+        return appendFileFormat(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the task to {@code out} in the format used for saving to a file, so that a whole list can be
+     * serialized through one builder: the id, if one has been assigned, then the fields of the task, e.g.
+     * {@code 12 | T | 0 | read book}.
+     *
+     * @return {@code out}.
+     */
+    public final StringBuilder appendFileFormat(StringBuilder out) {
+        if (id != 0) {
+            out.append(id).append(" | ");
+        }
+        return appendFields(out);
+    }
+
+    /**
+     * Appends the type, status, description and any other fields of the task, as in {@code T | 0 | read book}.
+     * This method must be implemented by subclasses.
+     *
+     * @return {@code out}.
+     */
+    protected abstract StringBuilder appendFields(StringBuilder out);
+
+    /**
+     * Returns the type of this task.
+     */
+    public abstract TaskType getType();
+
+    /**
+     * Returns the task as shown to the user, e.g. {@code [D][X] return book (by: Feb 28 2025, 11:59 PM)}.
+     * The string is cached; one rendered while another thread changed the status is recognised by its status
+     * icon and rendered again, so a stale string is never kept.
+     */
+    @Override
+    public final String toString() {
+        String cached = display;
+        if (cached == null || cached.charAt(STATUS_POSITION) != (isDone ? 'X' : ' ')) {
+            cached = appendDisplay(new StringBuilder()).toString();
+            display = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Appends the task as shown to the user, starting with its type and status icons, as in
+     * {@code [T][X] read book}. This method must be implemented by subclasses.
+     *
+     * @return {@code out}.
+     */
+    protected abstract StringBuilder appendDisplay(StringBuilder out);
 
     public String getDescription() {
         return this.description;
     }
+
+    /**
+     * Returns the stable id of the task, or 0 if it has not been added to a list yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable id of the task. Ids are assigned by {@link pookie.list.TaskList} and by the loaders,
+     * and never change afterwards.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task ids are positive";
+        this.id = id;
+    }
 }
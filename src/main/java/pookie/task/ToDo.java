@@ -18,22 +18,23 @@ public class ToDo extends Task {
     }
 
     /**
-     * Converts the ToDo task into a format suitable for saving to a file.
-     *
-     * @return A formatted string representing the task for file storage.
+     * Appends the ToDo task in a format suitable for saving to a file.
      */
     @Override
-    public String toFileFormat() {
-        return "T | " + (isDone ? "1" : "0") + " | " + description;
+    protected StringBuilder appendFields(StringBuilder out) {
+        return out.append("T | ").append(isDone ? '1' : '0').append(" | ").append(description);
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.TODO;
     }
 
     /**
-     * Returns a string representation of the ToDo task, including its status.
-     *
-     * @return A formatted string representing the task.
+     * Appends a string representation of the ToDo task, including its status.
      */
     @Override
-    public String toString() {
-        return "[T][" + getStatusIcon() + "] " + description;
+    protected StringBuilder appendDisplay(StringBuilder out) {
+        return out.append("[T][").append(getStatusIcon()).append("] ").append(description);
     }
 }
@@ -0,0 +1,204 @@
+package pookie.tenant;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import pookie.Pookie;
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.LoadReport;
+import pookie.storage.Storage;
+
+/**
+ * Keeps an independent {@link TaskList} and {@link Storage} for each tenant (user) of a shared process, each
+ * saved in its own file, {@code <directory>/<tenant id>.txt}, with its undo history next to it.
+ * <p>
+ * A tenant is opened the first time it is used. At most {@code maxResident} tenants stay in memory; when
+ * another one is opened, the least recently used are flushed, closed and dropped, to be loaded again on their
+ * next use.
+ * <p>
+ * There is no global lock. Tenants are spread over a fixed set of lock stripes by the hash of their id. Using
+ * a tenant holds its stripe's read lock, so any number of requests, for the same tenant or others, run at
+ * once; opening or evicting a tenant holds the write lock, so a tenant is never closed while it is in use.
+ * Recency is a per-tenant timestamp rather than a shared list, so recording a use does not contend either.
+ */
+public class TenantRegistry {
+    /** Default number of tenants kept in memory. */
+    public static final int DEFAULT_MAX_RESIDENT = 1000;
+
+    private static final int STRIPES = 64;
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final String directory;
+    private final int maxResident;
+    private final Function<String, Storage> storageFactory;
+    private final Map<String, Tenant> resident = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Constructs a registry of tenants stored in {@code directory}.
+     *
+     * @param maxResident    The number of tenants kept in memory at once.
+     * @param storageFactory Creates the storage for a file path, e.g. the text, binary or journal format.
+     */
+    public TenantRegistry(String directory, int maxResident, Function<String, Storage> storageFactory) {
+        assert maxResident > 0 : "At least one tenant must fit in memory";
+        this.directory = directory;
+        this.maxResident = maxResident;
+        this.storageFactory = storageFactory;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Runs {@code action} on the tasks and storage of tenant {@code tenantId}, opening the tenant first if it
+     * is not in memory.
+     *
+     * @throws PookieException If the id is not 1 to 64 letters, digits, {@code -} or {@code _}, if the
+     *     tenant's tasks cannot be loaded, or if {@code action} fails.
+     */
+    public <T> T withTenant(String tenantId, TenantAction<T> action) throws PookieException {
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new PookieException("Princess, '" + tenantId + "' is not a valid user id.");
+        }
+        ReentrantReadWriteLock stripe = stripeOf(tenantId);
+        stripe.readLock().lock();
+        boolean isOpened = false;
+        try {
+            Tenant tenant = resident.get(tenantId);
+            if (tenant == null) {
+                stripe.readLock().unlock();
+                stripe.writeLock().lock();
+                try {
+                    tenant = resident.get(tenantId);
+                    if (tenant == null) {
+                        tenant = open(tenantId);
+                        resident.put(tenantId, tenant);
+                        isOpened = true;
+                    }
+                } finally {
+                    stripe.readLock().lock(); // Downgrade, so the tenant cannot be evicted before it is used
+                    stripe.writeLock().unlock();
+                }
+            }
+            tenant.lastUsed = clock.incrementAndGet();
+            return action.apply(tenant.tasks, tenant.storage);
+        } finally {
+            stripe.readLock().unlock();
+            if (isOpened) {
+                evictExcess();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tenants in memory.
+     */
+    public int residentCount() {
+        return resident.size();
+    }
+
+    /**
+     * Flushes and closes every tenant in memory.
+     *
+     * @throws PookieException If a tenant's changes could not be saved; the other tenants are still closed.
+     */
+    public void close() throws PookieException {
+        PookieException firstError = null;
+        for (String tenantId : resident.keySet()) {
+            try {
+                evict(tenantId);
+            } catch (PookieException e) {
+                firstError = firstError == null ? e : firstError;
+            }
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+    }
+
+    private Tenant open(String tenantId) throws PookieException {
+        Storage storage = storageFactory.apply(directory + File.separator + tenantId + ".txt");
+        Tenant tenant = new Tenant(Pookie.openTaskList(storage), storage);
+        LoadReport report = storage.getLoadReport();
+        if (report != null && report.hasProblems()) {
+            System.err.println("Tasks of user " + tenantId + ": " + report.describe());
+        }
+        return tenant;
+    }
+
+    /**
+     * Evicts the least recently used tenants until at most {@code maxResident} remain. Finding them is a scan
+     * over the resident tenants, which only happens when a tenant is opened and so is dwarfed by its load.
+     */
+    private void evictExcess() {
+        while (resident.size() > maxResident) {
+            String oldestId = null;
+            long oldestUse = Long.MAX_VALUE;
+            for (Map.Entry<String, Tenant> entry : resident.entrySet()) {
+                if (entry.getValue().lastUsed < oldestUse) {
+                    oldestUse = entry.getValue().lastUsed;
+                    oldestId = entry.getKey();
+                }
+            }
+            if (oldestId == null) {
+                return;
+            }
+            try {
+                evict(oldestId);
+            } catch (PookieException e) {
+                System.err.println("Could not save tasks of user " + oldestId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes a tenant once nobody is using it, then flushes and closes its storage.
+     */
+    private void evict(String tenantId) throws PookieException {
+        ReentrantReadWriteLock stripe = stripeOf(tenantId);
+        stripe.writeLock().lock();
+        try {
+            Tenant tenant = resident.remove(tenantId);
+            if (tenant != null) {
+                tenant.storage.close();
+            }
+        } finally {
+            stripe.writeLock().unlock();
+        }
+    }
+
+    private ReentrantReadWriteLock stripeOf(String tenantId) {
+        int hash = tenantId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Work done on one tenant's tasks.
+     */
+    @FunctionalInterface
+    public interface TenantAction<T> {
+        T apply(TaskList tasks, Storage storage) throws PookieException;
+    }
+
+    /**
+     * A tenant in memory.
+     */
+    private static class Tenant {
+        private final TaskList tasks;
+        private final Storage storage;
+        private volatile long lastUsed;
+
+        Tenant(TaskList tasks, Storage storage) {
+            this.tasks = tasks;
+            this.storage = storage;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package pookie.ui;
 
 import java.util.Scanner;
 
+import pookie.list.TaskCursor;
+import pookie.task.Task;
+
 /**
  * The {@code Ui} class handles user interactions, including displaying messages,
  * reading user input, and printing formatted outputs.
@@ -9,6 +12,12 @@ import java.util.Scanner;
  * and formatting output for better readability.
  */
 public class Ui {
+    /** Number of tasks rendered before they are written out by {@link #showTasks}. */
+    private static final int CHUNK_LINES = 256;
+    /** System property that shows each task's id after it in listings, e.g. {@code -Dpookie.showIds=true}. */
+    private static final String SHOW_IDS_PROPERTY = "pookie.showIds";
+    private static final boolean IS_SHOWING_IDS = Boolean.getBoolean(SHOW_IDS_PROPERTY);
+
     private final Scanner sc;
 
     /**
@@ -69,6 +78,44 @@ public class Ui {
         printBorder();
     }
 
+    /**
+     * Appends {@code task} as it appears in a listing, followed by its id as {@code (#ID)} if Pookie was started
+     * with {@code -Dpookie.showIds=true}.
+     *
+     * @return {@code out}.
+     */
+    public static StringBuilder appendListed(StringBuilder out, Task task) {
+        out.append(task);
+        return IS_SHOWING_IDS ? out.append(" (#").append(task.getId()).append(')') : out;
+    }
+
+    /**
+     * Displays up to {@code limit} tasks from {@code cursor}, each numbered by its position in the list, between
+     * a header and an optional footer. Tasks are written out in chunks as they are rendered, so a long list is
+     * never held in memory as one string.
+     *
+     * @param footer A line to display after the tasks, or {@code null}.
+     */
+    public void showTasks(String header, TaskCursor cursor, int limit, String footer) {
+        StringBuilder chunk = new StringBuilder(header);
+        int shown = 0;
+        while (shown < limit && cursor.hasNext()) {
+            int number = cursor.nextNumber();
+            Task task = cursor.next();
+            appendListed(chunk.append("\n").append(number).append(". "), task).append("\n");
+            shown++;
+            if (shown % CHUNK_LINES == 0) {
+                System.out.print(chunk);
+                chunk.setLength(0);
+            }
+        }
+        if (footer != null) {
+            chunk.append("\n").append(footer);
+        }
+        System.out.println(chunk);
+        printBorder();
+    }
+
     /**
      * Closes the Scanner to release system resources.
      */
@@ -0,0 +1,109 @@
+package pookie.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.ui.Ui;
+
+public class CommandRegistryTest {
+    private final TaskList tasks = new TaskList();
+    private final Ui ui = new Ui();
+    private final Storage storage = new Storage("test_data.txt");
+
+    private CommandRegistry registryWith(String... keywords) {
+        CommandRegistry registry = new CommandRegistry();
+        for (String keyword : keywords) {
+            registry.register(keyword, CommandHandler.replying((argument, tasks, ui, storage) ->
+                    keyword + ":" + argument));
+        }
+        return registry;
+    }
+
+    @Test
+    public void parse_keywordAndArgument_splitsAtFirstSpace() {
+        Command command = registryWith("todo").parse("todo read a book");
+
+        assertEquals("todo", command.getKeyword());
+        assertEquals("read a book", command.getArgument());
+    }
+
+    @Test
+    public void parse_surroundingWhitespace_trimsKeywordAndArgument() {
+        Command command = registryWith("todo").parse("  todo    read book \t");
+
+        assertEquals("todo", command.getKeyword());
+        assertEquals("read book", command.getArgument());
+    }
+
+    @Test
+    public void parse_noArgument_returnsEmptyArgument() {
+        assertEquals("", registryWith("list").parse("list").getArgument());
+        assertEquals("", registryWith("list").parse(" list  ").getArgument());
+    }
+
+    @Test
+    public void parse_mixedCaseKeyword_matchesRegisteredKeyword() {
+        Command command = registryWith("deadline").parse("DeadLine report /by 2025-02-28 2359");
+
+        assertEquals("deadline", command.getKeyword());
+        assertEquals("report /by 2025-02-28 2359", command.getArgument());
+    }
+
+    @Test
+    public void parse_unknownOrPartialKeyword_returnsNull() {
+        CommandRegistry registry = registryWith("todo", "list");
+
+        assertNull(registry.parse("todos read book"));
+        assertNull(registry.parse("tod read book"));
+        assertNull(registry.parse(""));
+        assertNull(registry.parse("   "));
+    }
+
+    @Test
+    public void register_manyKeywords_allStillFound() throws PookieException {
+        CommandRegistry registry = new CommandRegistry();
+        for (int i = 0; i < 100; i++) {
+            String keyword = "command" + i;
+            registry.register(keyword, CommandHandler.replying((argument, tasks, ui, storage) -> keyword));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals("command" + i, registry.parse("command" + i + " x").executeAndReturn(tasks, ui, storage));
+        }
+    }
+
+    @Test
+    public void register_existingKeyword_replacesHandler() throws PookieException {
+        CommandRegistry registry = registryWith("find");
+        registry.register("FIND", CommandHandler.replying((argument, tasks, ui, storage) -> "replaced"));
+
+        assertEquals("replaced", registry.parse("find book").executeAndReturn(tasks, ui, storage));
+    }
+
+    @Test
+    public void parserCommands_registeredCommand_availableInBothModes() throws PookieException {
+        Parser.getCommands().register("ping", CommandHandler.replying((argument, tasks, ui, storage) -> "pong"));
+
+        assertTrue(Parser.getCommands().contains("PING"));
+        assertEquals("pong", Parser.parseCommandAndReturn("ping", tasks, ui, storage));
+        Parser.parseCommand("ping", tasks, ui, storage);
+    }
+
+    @Test
+    public void parseCommandAndReturn_listOnDate_listsTasksOnThatDate() throws PookieException {
+        Parser.parseCommandAndReturn("deadline report /by 2025-02-28 2359", tasks, ui, storage);
+        Parser.parseCommandAndReturn("todo read book", tasks, ui, storage);
+
+        String response = Parser.parseCommandAndReturn("list on 2025-02-28", tasks, ui, storage);
+
+        assertTrue(response.startsWith("Here are the tasks on"));
+        assertTrue(response.contains("report"));
+        assertEquals("Princess, please specify a date in YYYY-MM-DD format.",
+                Parser.parseCommandAndReturn("list on", tasks, ui, storage));
+    }
+}
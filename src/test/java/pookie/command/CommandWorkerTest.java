@@ -0,0 +1,102 @@
+package pookie.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandWorkerTest {
+    @Test
+    public void submit_manyCommands_respondsInOrder() throws InterruptedException {
+        ExecutorService callbacks = Executors.newSingleThreadExecutor();
+        CommandWorker worker = new CommandWorker(callbacks);
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String command = "command " + i;
+            expected.add(command);
+            worker.submit(() -> command, response -> {
+                responses.add(response);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, responses);
+        worker.shutdown();
+        callbacks.shutdown();
+    }
+
+    @Test
+    public void submit_runsOffCallerThread() throws InterruptedException {
+        CommandWorker worker = new CommandWorker(Runnable::run);
+        Thread[] commandThread = new Thread[1];
+        CountDownLatch done = new CountDownLatch(1);
+
+        worker.submit(() -> {
+            commandThread[0] = Thread.currentThread();
+            return "";
+        }, response -> done.countDown());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread(), commandThread[0]);
+        worker.shutdown();
+    }
+
+    @Test
+    public void submit_failingCommand_reportsErrorAndKeepsWorking() throws InterruptedException {
+        CommandWorker worker = new CommandWorker(Runnable::run);
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        worker.submit(() -> {
+            throw new IllegalStateException("boom");
+        }, response -> {
+            responses.add(response);
+            done.countDown();
+        });
+        worker.submit(() -> "ok", response -> {
+            responses.add(response);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(responses.get(0).contains("boom"));
+        assertEquals("ok", responses.get(1));
+        assertFalse(worker.isBusy());
+        worker.shutdown();
+    }
+
+    @Test
+    public void isBusy_untilResponseDelivered() throws InterruptedException {
+        CommandWorker worker = new CommandWorker(Runnable::run);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        worker.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "";
+        }, response -> done.countDown());
+
+        assertTrue(worker.isBusy());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(worker.isBusy());
+        worker.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package pookie.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import pookie.exception.PookieException;
+
+public class ListPageTest {
+    @Test
+    public void parse_noOptions_coversWholeList() throws PookieException {
+        ListPage page = ListPage.parse("", 120);
+
+        assertEquals(0, page.getOffset());
+        assertEquals(Integer.MAX_VALUE, page.getLimit());
+        assertNull(page.describe(120));
+    }
+
+    @Test
+    public void parse_page_usesDefaultPageSize() throws PookieException {
+        ListPage page = ListPage.parse("page 3", 120);
+
+        assertEquals(2 * ListPage.DEFAULT_PAGE_SIZE, page.getOffset());
+        assertEquals(ListPage.DEFAULT_PAGE_SIZE, page.getLimit());
+        assertEquals("Showing tasks 101-120 of 120.", page.describe(120));
+    }
+
+    @Test
+    public void parse_pageWithLimit_pointsToNextPage() throws PookieException {
+        ListPage page = ListPage.parse("page 2  --limit 7", 120);
+
+        assertEquals(7, page.getOffset());
+        assertEquals(7, page.getLimit());
+        assertEquals("Showing tasks 8-14 of 120. Type 'list page 3 --limit 7' for more.", page.describe(120));
+    }
+
+    @Test
+    public void parse_offsetAndLimit_pointsToNextOffset() throws PookieException {
+        ListPage page = ListPage.parse("--offset 5 --limit 3", 120);
+
+        assertEquals(5, page.getOffset());
+        assertEquals("Showing tasks 6-8 of 120. Type 'list --offset 8 --limit 3' for more.", page.describe(120));
+    }
+
+    @Test
+    public void parse_invalidOptions_throwsException() {
+        String[] invalid = {"foo", "page", "page 0", "page x", "--limit -1", "page 1 --offset 2", "page 4"};
+        for (String argument : invalid) {
+            assertThrows(PookieException.class, () -> ListPage.parse(argument, 120), argument);
+        }
+    }
+}
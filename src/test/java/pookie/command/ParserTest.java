@@ -33,5 +33,31 @@ public class ParserTest {
     void parseCommand_invalidDeleteCommand_throwsException() {
         assertThrows(NumberFormatException.class, () -> parser.parseCommand("delete xyz", taskList, ui, storage));
     }
-}
 
+    @Test
+    void parseTaskCommand_extraWhitespace_matchesCommandKeyword() throws PookieException {
+        assertEquals("[T][ ] read book", Parser.parseTaskCommand("\tTODO   read book ").toString());
+        PookieException e = assertThrows(PookieException.class, () -> Parser.parseTaskCommand("list 2"));
+        assertEquals("'list' is not a task command.", e.getMessage());
+    }
+
+    @Test
+    void parseCommandAndReturn_listAndFind_leaveOutIds() throws PookieException {
+        Parser.parseCommandAndReturn("todo read book", taskList, ui, storage);
+
+        assertTrue(Parser.parseCommandAndReturn("list", taskList, ui, storage).endsWith("\n1. [T][ ] read book\n"));
+        assertTrue(Parser.parseCommandAndReturn("find book", taskList, ui, storage).endsWith("\n1. [T][ ] read book"));
+    }
+
+    @Test
+    void parseCommandAndReturn_stats_reportsCommandsAndTaskTypes() throws PookieException {
+        Parser.parseCommandAndReturn("todo read book", taskList, ui, storage);
+        Parser.parseCommandAndReturn("gibberish", taskList, ui, storage);
+
+        String report = Parser.parseCommandAndReturn("stats", taskList, ui, storage);
+
+        assertTrue(report.contains("Tasks: 1 (TODO 1,"));
+        assertTrue(report.contains("\n  todo: "));
+        assertTrue(report.contains("saves: "));
+    }
+}
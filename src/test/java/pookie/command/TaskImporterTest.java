@@ -0,0 +1,53 @@
+package pookie.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.task.Deadline;
+import pookie.task.FixedDurationTask;
+
+public class TaskImporterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void importFile_mixedLines_importsValidAndReportsErrors() throws IOException, PookieException {
+        Path commands = tempDir.resolve("commands.txt");
+        Files.writeString(commands, "todo read book\n"
+                + "# a comment\n"
+                + "\n"
+                + "deadline report /by 2025-02-28 2359\n"
+                + "deadline report /by tomorrow\n"
+                + "fixed_duration shower /duration 1\n"
+                + "mark 1\n");
+        TaskList taskList = new TaskList();
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+
+        String summary = TaskImporter.importFile(commands.toString(), taskList, storage);
+
+        assertEquals(3, taskList.getTasks().size());
+        assertTrue(taskList.getTasks().get(1) instanceof Deadline);
+        assertTrue(taskList.getTasks().get(2) instanceof FixedDurationTask);
+        assertTrue(summary.startsWith("Done! I've imported 3 tasks"));
+        assertTrue(summary.contains("Line 5:"));
+        assertTrue(summary.contains("Line 7:"));
+        assertEquals(3, storage.loadTasks().size());
+    }
+
+    @Test
+    void importFile_missingFile_throwsException() {
+        assertThrows(PookieException.class, () -> TaskImporter.importFile(tempDir.resolve("none.txt").toString(),
+                new TaskList(), new Storage(tempDir.resolve("pookie.txt").toString())));
+    }
+}
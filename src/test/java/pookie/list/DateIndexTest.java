@@ -0,0 +1,89 @@
+package pookie.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+public class DateIndexTest {
+    private final Task conference = new Event("conference",
+            LocalDateTime.of(2025, 3, 14, 9, 0), LocalDateTime.of(2025, 3, 16, 17, 0));
+    private final Task report = new Deadline("report", LocalDateTime.of(2025, 3, 15, 23, 59));
+    private final Task semester = new Event("semester",
+            LocalDateTime.of(2025, 1, 13, 8, 0), LocalDateTime.of(2025, 5, 2, 18, 0));
+    private final DateIndex index = new DateIndex(new ArrayList<>(Arrays.asList(
+            conference, new ToDo("read book"), report, semester)));
+
+    @Test
+    void tasksOn_dateInsideEvents_returnsSpanningEventsInListOrder() {
+        assertEquals(Arrays.asList(conference, report, semester), index.tasksOn(LocalDate.of(2025, 3, 15)));
+    }
+
+    @Test
+    void tasksOn_eventEndDate_returnsEvent() {
+        assertEquals(Arrays.asList(conference, semester), index.tasksOn(LocalDate.of(2025, 3, 16)));
+    }
+
+    @Test
+    void tasksOn_afterRemoval_omitsTask() {
+        index.remove(conference);
+        index.remove(semester);
+        assertEquals(Arrays.asList(report), index.tasksOn(LocalDate.of(2025, 3, 15)));
+        assertTrue(index.tasksOn(LocalDate.of(2025, 3, 16)).isEmpty());
+    }
+
+    @Test
+    void restore_removedTasks_returnToOldPlace() {
+        index.remove(conference);
+        index.remove(semester);
+        assertTrue(index.restore(semester));
+        assertTrue(index.restore(conference));
+        assertEquals(Arrays.asList(conference, report, semester), index.tasksOn(LocalDate.of(2025, 3, 15)));
+        assertFalse(index.restore(report));
+    }
+
+    @Test
+    void tasksOn_longEvents_returnsOnlyEventsCoveringDate() {
+        Task oldProject = new Event("old project",
+                LocalDateTime.of(1965, 6, 1, 9, 0), LocalDateTime.of(1970, 2, 3, 17, 0));
+        Task decade = new Event("decade",
+                LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2029, 12, 31, 23, 59));
+        index.add(oldProject);
+        index.add(decade);
+
+        assertEquals(Arrays.asList(semester, decade), index.tasksOn(LocalDate.of(2025, 1, 13)));
+        assertEquals(Arrays.asList(semester, decade), index.tasksOn(LocalDate.of(2025, 5, 2)));
+        assertEquals(Arrays.asList(decade), index.tasksOn(LocalDate.of(2025, 5, 3)));
+        assertEquals(Arrays.asList(oldProject), index.tasksOn(LocalDate.of(1965, 6, 1)));
+        assertEquals(Arrays.asList(oldProject), index.tasksOn(LocalDate.of(1970, 1, 1)));
+        assertEquals(Arrays.asList(oldProject), index.tasksOn(LocalDate.of(1970, 2, 3)));
+        assertTrue(index.tasksOn(LocalDate.of(1970, 2, 4)).isEmpty());
+        assertTrue(index.tasksOn(LocalDate.of(2030, 1, 1)).isEmpty());
+    }
+
+    @Test
+    void tasksOn_everyDayAroundLongEvent_matchesSpan() {
+        LocalDate start = LocalDate.of(2024, 11, 29);
+        LocalDate end = LocalDate.of(2025, 8, 7);
+        Task longEvent = new Event("long", start.atTime(9, 0), end.atTime(17, 0));
+        DateIndex longIndex = new DateIndex(new ArrayList<>(Arrays.asList(longEvent)));
+
+        for (LocalDate day = start.minusDays(3); !day.isAfter(end.plusDays(3)); day = day.plusDays(1)) {
+            boolean isCovered = !day.isBefore(start) && !day.isAfter(end);
+            assertEquals(isCovered ? Arrays.asList(longEvent) : new ArrayList<>(), longIndex.tasksOn(day));
+        }
+        longIndex.remove(longEvent);
+        assertTrue(longIndex.tasksOn(LocalDate.of(2025, 3, 1)).isEmpty());
+    }
+}
@@ -0,0 +1,176 @@
+package pookie.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.storage.JournalStorage;
+import pookie.storage.Storage;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.Task;
+import pookie.task.ToDo;
+import pookie.ui.Ui;
+
+public class HistoryTest {
+    @TempDir
+    Path tempDir;
+
+    private final Ui ui = new Ui();
+
+    @Test
+    public void undoRedo_addMarkDelete_revertsEachStep() throws PookieException {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+        tasks.addTask(new ToDo("first"), ui, storage);
+        tasks.addTask(new ToDo("second"), ui, storage);
+        tasks.addTask(new ToDo("third"), ui, storage);
+        tasks.markTask(1, true, ui, storage);
+        tasks.deleteTask(1, ui, storage);
+
+        tasks.undo(storage);
+        assertEquals("[T][X] second", tasks.getTasks().get(1).toString());
+        tasks.undo(storage);
+        assertTrue(!tasks.getTasks().get(1).isDone());
+        tasks.undo(storage);
+        assertEquals(2, tasks.size());
+        assertEquals(2, new Storage(storage.getFilePath()).loadTasks().size());
+
+        tasks.redo(storage);
+        tasks.redo(storage);
+        assertEquals("[T][X] second", tasks.getTasks().get(1).toString());
+        assertEquals(1, tasks.getHistory().redoableCount());
+    }
+
+    @Test
+    public void undo_markThatChangedNothing_keepsStatus() throws PookieException {
+        ToDo done = new ToDo("first");
+        done.markDone();
+        TaskList tasks = new TaskList(new ArrayList<>(List.of(done)));
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+
+        tasks.markTask(0, true, ui, storage);
+
+        assertThrows(PookieException.class, () -> tasks.undo(storage));
+        assertTrue(tasks.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void undo_insertedInMiddle_keepsFindInListOrder() throws PookieException {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+        tasks.addTask(new ToDo("book one"), ui, storage);
+        tasks.addTask(new ToDo("book two"), ui, storage);
+        tasks.deleteTask(0, ui, storage);
+
+        tasks.undo(storage);
+
+        assertEquals("book one", tasks.findTasksReturn("book").get(0).getDescription());
+    }
+
+    @Test
+    public void undo_deletion_restoresTaskInPlaceWithoutRebuild() throws PookieException {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+        Task deadline = new Deadline("return book", LocalDateTime.of(2025, 3, 2, 12, 0));
+        Task event = new Event("book fair", LocalDateTime.of(2025, 3, 1, 10, 0), LocalDateTime.of(2025, 3, 3, 18, 0));
+        tasks.addTask(deadline, ui, storage);
+        tasks.addTask(new ToDo("book club"), ui, storage);
+        tasks.addTask(event, ui, storage);
+        tasks.deleteTask(0, ui, storage);
+        TaskSnapshot afterDelete = (TaskSnapshot) tasks.getTasks();
+
+        tasks.undo(storage);
+
+        assertTrue(((TaskSnapshot) tasks.getTasks()).sharesSlotsWith(afterDelete));
+        assertSame(deadline, tasks.getTasks().get(0));
+        assertEquals(List.of("return book", "book club", "book fair"), descriptions(tasks.findTasksReturn("book")));
+        assertEquals(List.of(deadline, event), tasks.getTasksOn(LocalDate.of(2025, 3, 2)));
+    }
+
+    @Test
+    public void undo_nothingRecordedOrNewChange_throwsException() throws PookieException {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+
+        assertThrows(PookieException.class, () -> tasks.undo(storage));
+        tasks.addTask(new ToDo("first"), ui, storage);
+        tasks.undo(storage);
+        tasks.addTask(new ToDo("second"), ui, storage);
+        assertThrows(PookieException.class, () -> tasks.redo(storage));
+    }
+
+    @Test
+    public void record_beyondDepth_forgetsOldest() throws PookieException {
+        TaskList tasks = new TaskList(new ArrayList<>(), new History(2));
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new ToDo("task " + i), ui, storage);
+        }
+
+        tasks.undo(storage);
+        tasks.undo(storage);
+
+        assertThrows(PookieException.class, () -> tasks.undo(storage));
+        assertEquals(3, tasks.size());
+    }
+
+    @Test
+    public void open_afterRestart_continuesHistory() throws PookieException, IOException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 100);
+        TaskList tasks = new TaskList(storage.loadTasks(), History.open(path + ".undo", 10));
+        tasks.addTask(new ToDo("first"), ui, storage);
+        tasks.addTask(new ToDo("second"), ui, storage);
+        tasks.deleteTask(0, ui, storage);
+        tasks.undo(storage);
+        storage.close();
+
+        JournalStorage reopened = new JournalStorage(path, 100);
+        TaskList restored = new TaskList(reopened.loadTasks(), History.open(path + ".undo", 10));
+        assertEquals("first", restored.getTasks().get(0).getDescription());
+        assertEquals(2, restored.getHistory().undoableCount());
+        assertEquals(1, restored.getHistory().redoableCount());
+
+        restored.redo(reopened);
+        restored.undo(reopened);
+        restored.undo(reopened);
+        assertEquals(1, restored.size());
+        reopened.close();
+        assertEquals(1, new JournalStorage(path, 100).loadTasks().size());
+        assertTrue(Files.readAllLines(Path.of(path + ".undo")).size() <= 4 * 10);
+    }
+
+    @Test
+    public void undo_listChangedOutsidePookie_clearsHistory() throws PookieException {
+        Storage storage = new Storage(tempDir.resolve("pookie.txt").toString());
+        History history = new History(10);
+        history.record(History.Operation.added(0, new ToDo("first")));
+        TaskList tasks = new TaskList(List.of(new ToDo("edited by hand")), history);
+
+        assertThrows(PookieException.class, () -> tasks.undo(storage));
+        assertEquals(0, history.undoableCount());
+        assertEquals(1, tasks.size());
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,62 @@
+package pookie.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+public class KeywordIndexTest {
+    private final Task readBook = new ToDo("read book");
+    private final Task notebook = new ToDo("buy Notebook");
+    private final Task report = new ToDo("write report");
+    private final KeywordIndex index = new KeywordIndex(new ArrayList<>(Arrays.asList(readBook, notebook, report)));
+
+    @Test
+    void find_substringAnyCase_returnsMatchesInListOrder() {
+        assertEquals(Arrays.asList(readBook, notebook), index.find("BOOK"));
+    }
+
+    @Test
+    void find_shortKeyword_answeredFromPostings() {
+        assertEquals(Arrays.asList(readBook, notebook, report), index.find("o"));
+        assertEquals(Arrays.asList(notebook, report), index.find("TE"));
+        assertTrue(index.find("z").isEmpty());
+        index.remove(notebook);
+        assertEquals(Arrays.asList(readBook, report), index.find("o"));
+    }
+
+    @Test
+    void restore_removedTask_returnsToOldPlace() {
+        index.remove(readBook);
+        assertTrue(index.restore(readBook));
+        assertEquals(Arrays.asList(readBook, notebook), index.find("book"));
+        assertEquals(Arrays.asList(readBook, notebook, report), index.find("o"));
+        assertFalse(index.restore(report));
+    }
+
+    @Test
+    void find_acrossWords_matchesPhrase() {
+        assertEquals(Arrays.asList(readBook), index.find("d b"));
+    }
+
+    @Test
+    void remove_deletedTask_notReturned() {
+        index.remove(readBook);
+        assertEquals(Arrays.asList(notebook), index.find("book"));
+    }
+
+    @Test
+    void add_newTask_returnedAfterExistingMatches() {
+        Task bookshelf = new ToDo("fix bookshelf");
+        index.add(bookshelf);
+        assertEquals(Arrays.asList(readBook, notebook, bookshelf), index.find("book"));
+        assertTrue(index.find("zebra").isEmpty());
+    }
+}
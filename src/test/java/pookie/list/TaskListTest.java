@@ -3,6 +3,7 @@ package pookie.list;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import pookie.task.*;
@@ -11,6 +12,8 @@ import pookie.storage.Storage;
 import pookie.exception.PookieException;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,12 +21,19 @@ public class TaskListTest {
     private TaskList taskList;
     private Ui ui;
     private Storage storage;
+    private Storage quietStorage;
 
     @BeforeEach
     void setUp() {
         taskList = new TaskList(new ArrayList<>());
         ui = new Ui();
         storage = new Storage("test_data.txt");
+        quietStorage = new Storage("test_data.txt") {
+            @Override
+            public void saveTasks(List<Task> tasks) {
+                // Keeps the test in memory
+            }
+        };
     }
 
     @Test
@@ -70,5 +80,268 @@ public class TaskListTest {
     void deleteTask_nonExistentIndex_throwsException() {
         assertThrows(PookieException.class, () -> taskList.deleteTask(99, ui, storage)); // Index out of bounds
     }
-}
 
+    @Test
+    void cursor_fromOffset_returnsRemainingTasksWithNumbers() throws PookieException {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+
+        TaskCursor cursor = taskList.cursor(3);
+        assertEquals(4, cursor.nextNumber());
+        assertEquals("task 3", cursor.next().getDescription());
+        assertEquals("task 4", cursor.next().getDescription());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    void cursor_pastEnd_hasNoTasks() {
+        assertFalse(taskList.cursor(10).hasNext());
+    }
+
+    @Test
+    void getTasks_laterMutation_snapshotUnchanged() throws PookieException {
+        taskList.addTask(new ToDo("first"), ui, storage);
+        List<Task> snapshot = taskList.getTasks();
+        TaskCursor cursor = taskList.cursor(0);
+
+        taskList.addTask(new ToDo("second"), ui, storage);
+        taskList.markTask(0, true, ui, storage);
+        taskList.deleteTask(0, ui, storage);
+
+        assertEquals(1, snapshot.size());
+        assertEquals("first", snapshot.get(0).getDescription());
+        assertTrue(snapshot.get(0).isDone()); // Marks are shared with earlier snapshots
+        Task fromCursor = cursor.next();
+        assertEquals("first", fromCursor.getDescription());
+        assertTrue(fromCursor.isDone());
+        assertFalse(cursor.hasNext());
+        assertEquals("second", taskList.getTasks().get(0).getDescription());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new ToDo("third")));
+    }
+
+    @Test
+    void deleteTaskById_afterEarlierDeletion_removesThatTask() throws PookieException {
+        taskList.addTask(new ToDo("first"), ui, storage);
+        taskList.addTask(new ToDo("second"), ui, storage);
+        taskList.addTask(new ToDo("third"), ui, storage);
+        long thirdId = taskList.getTasks().get(2).getId();
+
+        taskList.deleteTask(0, ui, storage);
+        taskList.markTaskById(thirdId, true, ui, storage);
+
+        assertEquals(1, taskList.indexOf(thirdId));
+        assertTrue(taskList.getTaskById(thirdId).isDone());
+        assertEquals("third", taskList.deleteTaskById(thirdId, ui, storage).getDescription());
+        assertEquals(-1, taskList.indexOf(thirdId));
+        assertThrows(PookieException.class, () -> taskList.deleteTaskById(thirdId, ui, storage));
+    }
+
+    @Test
+    void deleteTask_manyTombstones_compactsAndKeepsIds() throws PookieException {
+        int count = 3 * TaskSnapshot.MIN_TOMBSTONES;
+        for (int i = 0; i < count; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, quietStorage);
+        }
+        List<Task> before = taskList.getTasks();
+
+        for (int i = 0; i < count; i += 2) {
+            taskList.deleteTask(i / 2, ui, quietStorage);
+        }
+
+        assertEquals(count, before.size());
+        assertEquals(count / 2, taskList.size());
+        for (int i = 0; i < count / 2; i++) {
+            Task task = taskList.getTasks().get(i);
+            assertEquals("task " + (2 * i + 1), task.getDescription());
+            assertEquals(i, taskList.indexOf(task.getId()));
+        }
+        assertEquals(count / 2, taskList.findTasksReturn("task").size());
+    }
+
+    @Test
+    void constructor_duplicateAndMissingIds_assignsFreshIds() {
+        Task first = new ToDo("first");
+        first.setId(5);
+        Task second = new ToDo("second");
+        second.setId(5);
+        Task third = new ToDo("third");
+
+        TaskList list = new TaskList(new ArrayList<>(List.of(first, second, third)));
+
+        assertEquals(5, first.getId());
+        assertEquals(6, second.getId());
+        assertEquals(7, third.getId());
+        assertSame(second, list.getTaskById(6));
+    }
+
+    @Test
+    void addTask_concurrentWritersAndReaders_keepsEveryTask() throws InterruptedException {
+        int writers = 4;
+        int tasksPerWriter = 200;
+        AtomicBoolean hasFailed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < tasksPerWriter; i++) {
+                        taskList.addTask(new ToDo("writer " + writer + " task " + i), ui, quietStorage);
+                    }
+                } catch (PookieException e) {
+                    hasFailed.set(true);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            while (taskList.size() < writers * tasksPerWriter) {
+                for (Task task : taskList.getTasks()) {
+                    if (task == null) {
+                        hasFailed.set(true);
+                    }
+                }
+                taskList.findTasksReturn("task 1");
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(hasFailed.get());
+        assertEquals(writers * tasksPerWriter, taskList.size());
+        assertEquals(writers, taskList.findTasksReturn("task 199").size());
+    }
+
+    @Test
+    void columnarLayout_sameChanges_matchesObjectLayout() throws PookieException {
+        assertMatchesObjectLayout(TaskLayout.COLUMNAR);
+    }
+
+    @Test
+    void offHeapLayout_sameChanges_matchesObjectLayout() throws PookieException {
+        assertMatchesObjectLayout(TaskLayout.OFF_HEAP);
+    }
+
+    @Test
+    void columnarLayout_compactionAndUndo_keepsTasksAndIds() throws PookieException {
+        assertCompactionAndUndoKeepTasks(TaskLayout.COLUMNAR);
+    }
+
+    @Test
+    void offHeapLayout_compactionAndUndo_keepsTasksAndIds() throws PookieException {
+        assertCompactionAndUndoKeepTasks(TaskLayout.OFF_HEAP);
+    }
+
+    @Test
+    void columnarLayout_afterDeletes_findsTasksById() throws PookieException {
+        assertIdLookupAfterDeletes(TaskLayout.COLUMNAR);
+    }
+
+    @Test
+    void offHeapLayout_afterDeletes_findsTasksById() throws PookieException {
+        assertIdLookupAfterDeletes(TaskLayout.OFF_HEAP);
+    }
+
+    @Test
+    void columnarLayout_idsOutOfOrder_findsTasksById() {
+        ArrayList<Task> loaded = sampleTasks();
+        long[] ids = {7, 2, 9, 4};
+        for (int i = 0; i < ids.length; i++) {
+            loaded.get(i).setId(ids[i]);
+        }
+
+        TaskList list = new TaskList(loaded, new History(10), TaskLayout.COLUMNAR);
+
+        assertEquals(2, list.indexOf(9));
+        assertEquals("read book", list.getTaskById(7).getDescription());
+        assertNull(list.getTaskById(3));
+    }
+
+    private void assertIdLookupAfterDeletes(TaskLayout layout) throws PookieException {
+        TaskList list = new TaskList(new ArrayList<>(), new History(10), layout);
+        for (int i = 1; i <= 10; i++) {
+            list.addTask(new ToDo("task " + i), ui, quietStorage);
+        }
+
+        list.deleteTaskById(3, ui, quietStorage);
+        list.deleteTaskById(8, ui, quietStorage);
+        list.deleteTask(list.size() - 1, ui, quietStorage);
+        list.undo(quietStorage);
+        list.redo(quietStorage);
+        list.undo(quietStorage);
+
+        assertNull(list.getTaskById(3));
+        assertNull(list.getTaskById(8));
+        assertEquals(-1, list.indexOf(8));
+        assertEquals("task 9", list.getTaskById(9).getDescription());
+        assertEquals(6, list.indexOf(9));
+        assertEquals("task 10", list.getTaskById(10).getDescription());
+        assertEquals(7, list.indexOf(10));
+        assertEquals("task 4", list.getTaskById(4).getDescription());
+        assertEquals(2, list.indexOf(4));
+        assertNull(list.getTaskById(11));
+    }
+
+    private void assertMatchesObjectLayout(TaskLayout layout) throws PookieException {
+        TaskList objects = new TaskList(sampleTasks(), new History(10), TaskLayout.OBJECTS);
+        TaskList columns = new TaskList(sampleTasks(), new History(10), layout);
+
+        for (TaskList list : List.of(objects, columns)) {
+            list.markTask(1, true, ui, quietStorage);
+            list.deleteTask(0, ui, quietStorage);
+            list.addTask(new ToDo("Return Book to library"), ui, quietStorage);
+        }
+
+        assertEquals(layout, columns.getLayout());
+        assertEquals(objects.size(), columns.size());
+        for (int i = 0; i < objects.size(); i++) {
+            assertEquals(objects.getTasks().get(i).toFileFormat(), columns.getTasks().get(i).toFileFormat());
+        }
+        assertEquals(toFileFormats(objects.findTasksReturn("book")), toFileFormats(columns.findTasksReturn("book")));
+        assertEquals(3, columns.findTasksReturn("book").size());
+        LocalDate day = LocalDate.of(2025, 3, 2);
+        assertEquals(toFileFormats(objects.getTasksOn(day)), toFileFormats(columns.getTasksOn(day)));
+        assertEquals(2, columns.getTasksOn(day).size());
+        assertEquals(objects.countByType(), columns.countByType());
+    }
+
+    private void assertCompactionAndUndoKeepTasks(TaskLayout layout) throws PookieException {
+        TaskList list = new TaskList(new ArrayList<>(), new History(10), layout);
+        int count = 3 * TaskSnapshot.MIN_TOMBSTONES;
+        for (int i = 0; i < count; i++) {
+            list.addTask(new ToDo("task " + i), ui, quietStorage);
+        }
+        List<Task> before = list.getTasks();
+
+        for (int i = 0; i < count; i += 2) {
+            list.deleteTask(i / 2, ui, quietStorage);
+        }
+        list.undo(quietStorage);
+
+        assertEquals("task " + (count - 1), before.get(count - 1).getDescription());
+        assertEquals(count / 2 + 1, list.size());
+        Task restored = list.getTasks().get(count / 2 - 1);
+        assertEquals("task " + (count - 2), restored.getDescription());
+        assertEquals(count - 1, restored.getId());
+        assertEquals(count / 2 - 1, list.indexOf(restored.getId()));
+        assertEquals("task " + (count - 1), list.getTaskById(count).getDescription());
+    }
+
+    private static ArrayList<Task> sampleTasks() {
+        return new ArrayList<>(List.of(new ToDo("read book"),
+                new Deadline("return book", LocalDateTime.of(2025, 3, 2, 23, 59)),
+                new Event("book fair", LocalDateTime.of(2025, 3, 1, 10, 0), LocalDateTime.of(2025, 3, 3, 18, 0)),
+                new FixedDurationTask("write report: " + "draft, review and submit; ".repeat(5), 3)));
+    }
+
+    private static List<String> toFileFormats(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toFileFormat());
+        }
+        return lines;
+    }
+}
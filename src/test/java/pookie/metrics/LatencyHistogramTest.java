@@ -0,0 +1,46 @@
+package pookie.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void bucketOf_anyValue_fallsWithinItsBucketBounds() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(upper >= value, "upper bound of " + value);
+            assertTrue(upper - value <= value / 32, "precision of " + value);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(bucket - 1) < value, "lower bound of " + value);
+            }
+        }
+    }
+
+    @Test
+    public void getPercentile_uniformValues_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean());
+        assertEquals(500_000, histogram.getPercentile(50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.getPercentile(99), 990_000 / 32.0);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void getPercentile_empty_returnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(0, new LatencyHistogram().getPercentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,222 @@
+package pookie.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.list.TaskList;
+import pookie.storage.Storage;
+import pookie.tenant.TenantRegistry;
+
+public class ApiServerTest {
+    @TempDir
+    Path tempDir;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TaskList tasks;
+    private ApiServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tasks = new TaskList();
+        server = new ApiServer(tasks, new Storage(tempDir.resolve("pookie.txt").toString()), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void postTasks_validCommand_addsTask() throws Exception {
+        HttpResponse<String> response = send("POST", "/tasks", "deadline return book /by 2025-02-28 2359");
+
+        assertEquals(201, response.statusCode());
+        assertEquals("{\"id\":1,\"type\":\"DEADLINE\",\"done\":false,\"description\":\"return book\","
+                + "\"by\":\"2025-02-28 2359\"}", response.body());
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void postTasks_invalidCommand_returnsBadRequest() throws Exception {
+        HttpResponse<String> response = send("POST", "/tasks", "todo");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().startsWith("{\"error\":"));
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void getTasks_withOffsetAndLimit_returnsNumberedSlice() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            send("POST", "/tasks", "todo task " + i);
+        }
+
+        HttpResponse<String> response = send("GET", "/tasks?offset=3&limit=1", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"total\":5,\"offset\":3,\"tasks\":[{\"number\":4,\"id\":4,\"type\":\"TODO\",\"done\":false,"
+                + "\"description\":\"task 4\"}]}", response.body());
+    }
+
+    @Test
+    void getTasks_findAndOn_useIndexes() throws Exception {
+        send("POST", "/tasks", "todo read \"the\" book");
+        send("POST", "/tasks", "event fair /from 2025-03-01 1000 /to 2025-03-03 1800");
+
+        assertEquals("{\"tasks\":[{\"id\":1,\"type\":\"TODO\",\"done\":false,"
+                + "\"description\":\"read \\\"the\\\" book\"}]}",
+                send("GET", "/tasks?find=BOOK", null).body());
+        assertTrue(send("GET", "/tasks?on=2025-03-02", null).body().contains("\"description\":\"fair\""));
+        assertEquals(400, send("GET", "/tasks?on=tomorrow", null).statusCode());
+    }
+
+    @Test
+    void markAndDelete_existingTask_updatesList() throws Exception {
+        send("POST", "/tasks", "todo first");
+        send("POST", "/tasks", "todo second");
+
+        HttpResponse<String> marked = send("POST", "/tasks/2/mark", null);
+        HttpResponse<String> deleted = send("DELETE", "/tasks/1", null);
+
+        assertEquals(200, marked.statusCode());
+        assertTrue(marked.body().contains("\"number\":2") && marked.body().contains("\"done\":true"));
+        assertTrue(deleted.body().contains("\"description\":\"first\""));
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.getTasks().get(0).isDone());
+    }
+
+    @Test
+    void taskById_afterEarlierDeletion_stillFindsTask() throws Exception {
+        send("POST", "/tasks", "todo first");
+        send("POST", "/tasks", "todo second");
+        send("DELETE", "/tasks/1", null);
+
+        assertTrue(send("GET", "/tasks/id/2", null).body().contains("\"description\":\"second\""));
+        assertEquals(200, send("POST", "/tasks/id/2/mark", null).statusCode());
+        assertTrue(tasks.getTaskById(2).isDone());
+        assertEquals(404, send("GET", "/tasks/id/1", null).statusCode());
+        assertEquals(404, send("DELETE", "/tasks/id/1", null).statusCode());
+        assertEquals(404, send("POST", "/tasks/id/1/mark", null).statusCode());
+        assertEquals(200, send("DELETE", "/tasks/id/2", null).statusCode());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void unknownTaskPathOrMethod_returnsErrorStatus() throws Exception {
+        assertEquals(404, send("GET", "/tasks/7", null).statusCode());
+        assertEquals(404, send("GET", "/tasks/abc", null).statusCode());
+        assertEquals(404, send("GET", "/nothing", null).statusCode());
+        assertEquals(404, send("DELETE", "/tasks/7", null).statusCode());
+        assertEquals(404, send("POST", "/tasks/7/mark", null).statusCode());
+        assertEquals(405, send("PUT", "/tasks", "todo x").statusCode());
+    }
+
+    @Test
+    void postCommands_anyCommand_returnsReply() throws Exception {
+        HttpResponse<String> response = send("POST", "/commands", "todo write report");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"reply\":\"Got it!"));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void postCommands_fileCommand_isForbidden() throws Exception {
+        Path target = tempDir.resolve("stolen.csv");
+
+        HttpResponse<String> response = send("POST", "/commands", "export " + target);
+
+        assertEquals(403, response.statusCode());
+        assertTrue(response.body().startsWith("{\"error\":"));
+        assertFalse(Files.exists(target));
+        assertEquals(403, send("POST", "/commands", "IMPORT " + target).statusCode());
+        assertEquals(403, send("POST", "/commands", "convert " + target + " binary").statusCode());
+    }
+
+    @Test
+    void request_fromForeignOrigin_isForbidden() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/commands"))
+                .header("Origin", "https://evil.example")
+                .POST(HttpRequest.BodyPublishers.ofString("todo planted"))
+                .build();
+
+        assertEquals(403, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void request_fromLocalOrigin_isAllowed() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/tasks"))
+                .header("Origin", "http://localhost:3000")
+                .build();
+
+        assertEquals(200, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void request_withForeignHost_isForbidden() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /tasks HTTP/1.1\r\nHost: attacker.example:" + server.getPort()
+                    + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII)).readLine();
+
+            assertEquals("HTTP/1.1 403 Forbidden", statusLine);
+        }
+    }
+
+    @Test
+    void tenantServer_usersPaths_keepSeparateLists() throws Exception {
+        ApiServer tenantServer = new ApiServer(new TenantRegistry(tempDir.toString(), 10, Storage::new), 0);
+        tenantServer.start();
+        try {
+            String base = "http://localhost:" + tenantServer.getPort();
+            sendTo(base + "/users/alice/tasks", "POST", "todo alice's task");
+            sendTo(base + "/users/bob/tasks", "POST", "todo bob's task");
+
+            assertTrue(sendTo(base + "/users/alice/tasks", "GET", null).body().contains("alice's task"));
+            assertTrue(sendTo(base + "/users/bob/tasks", "GET", null).body().contains("\"total\":1"));
+            assertEquals(404, sendTo(base + "/tasks", "GET", null).statusCode());
+            assertEquals(400, sendTo(base + "/users/bad.id/tasks", "GET", null).statusCode());
+        } finally {
+            tenantServer.stop();
+        }
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        return sendTo("http://localhost:" + server.getPort() + path, method, body);
+    }
+
+    private HttpResponse<String> sendTo(String url, String method, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,128 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.FixedDurationTask;
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+public class BinaryStorageTest {
+    /** Bytes before the first task's type tag: magic, version, count and id. */
+    private static final int HEADER_AND_ID = 4 + 1 + 4 + 8;
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> sampleTasks() {
+        ToDo todo = new ToDo("buy food ✨");
+        todo.markDone();
+        return new ArrayList<>(Arrays.asList(todo,
+                new Deadline("ip project", LocalDateTime.of(2025, 2, 24, 23, 59)),
+                new Event("work", LocalDateTime.of(2025, 2, 25, 8, 30), LocalDateTime.of(2025, 2, 25, 18, 0)),
+                new FixedDurationTask("do homework", 4)));
+    }
+
+    @Test
+    void saveAndLoad_allTaskTypes_roundTrips() throws PookieException {
+        String path = tempDir.resolve("pookie.bin").toString();
+        ArrayList<Task> tasks = sampleTasks();
+        new BinaryStorage(path).saveTasks(tasks);
+
+        ArrayList<Task> loaded = new BinaryStorage(path).loadTasks();
+
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toFileFormat(), loaded.get(i).toFileFormat());
+        }
+    }
+
+    @Test
+    void forPath_binaryExtension_returnsBinaryStorage() {
+        assertTrue(Storage.forPath("data/pookie.bin") instanceof BinaryStorage);
+        assertEquals(Storage.class, Storage.forPath("data/pookie.txt").getClass());
+    }
+
+    @Test
+    void read_truncatedData_throwsException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryStorage.write(sampleTasks(), out);
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+
+        assertThrows(PookieException.class, () -> BinaryStorage.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void read_flippedByte_throwsException() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryStorage.write(sampleTasks(), out);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length / 2] ^= 0x20;
+
+        assertThrows(PookieException.class, () -> BinaryStorage.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void loadTasks_lenientWithTruncatedFile_keepsEarlierTasks() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.bin");
+        new BinaryStorage(file.toString()).saveTasks(sampleTasks());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        BinaryStorage storage = new BinaryStorage(file.toString());
+        storage.setLenient(true);
+
+        ArrayList<Task> loaded = storage.loadTasks();
+
+        assertEquals(3, loaded.size());
+        assertTrue(storage.getLoadReport().hasProblems());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Path copy = files.filter(path -> path.toString().endsWith(".quarantine")).findFirst().orElseThrow();
+            assertEquals(bytes.length - 10, Files.size(copy));
+        }
+    }
+
+    @Test
+    void read_corruptDescriptionLength_throwsException() throws IOException, PookieException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryStorage.write(List.of(new ToDo("buy food")), out);
+        byte[] bytes = out.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(HEADER_AND_ID + 2, Integer.MAX_VALUE - 8); // After the tag and done bytes
+
+        assertThrows(PookieException.class, () -> BinaryStorage.read(new ByteArrayInputStream(bytes)));
+        LoadReport report = new LoadReport();
+        assertTrue(BinaryStorage.read(new ByteArrayInputStream(bytes), report).isEmpty());
+        assertTrue(report.hasProblems());
+    }
+
+    @Test
+    void read_corruptDate_throwsException() throws IOException, PookieException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryStorage.write(List.of(new Deadline("ip", LocalDateTime.of(2025, 2, 24, 23, 59))), out);
+        byte[] bytes = out.toByteArray();
+        ByteBuffer.wrap(bytes).putLong(HEADER_AND_ID + 2 + 4 + 2, Long.MAX_VALUE / 60 - 1); // After "ip"
+
+        assertThrows(PookieException.class, () -> BinaryStorage.read(new ByteArrayInputStream(bytes)));
+        LoadReport report = new LoadReport();
+        assertTrue(BinaryStorage.read(new ByteArrayInputStream(bytes), report).isEmpty());
+        assertTrue(report.hasProblems());
+    }
+}
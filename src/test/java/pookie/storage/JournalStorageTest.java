@@ -0,0 +1,136 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.task.Task;
+import pookie.task.ToDo;
+import pookie.ui.Ui;
+
+public class JournalStorageTest {
+    @TempDir
+    Path tempDir;
+
+    private final Ui ui = new Ui();
+
+    @Test
+    void loadTasks_afterMutations_replaysJournal() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 100);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new ToDo("read book"), ui, storage);
+        taskList.addTask(new ToDo("write report"), ui, storage);
+        taskList.markTask(1, true, ui, storage);
+        taskList.deleteTask(0, ui, storage);
+        storage.close();
+
+        ArrayList<Task> loaded = new JournalStorage(path, 100).loadTasks();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][X] write report", loaded.get(0).toString());
+    }
+
+    @Test
+    void loadTasks_tornTailRecord_keepsEarlierRecords() throws PookieException, IOException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 100);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new ToDo("read book"), ui, storage);
+        storage.close();
+
+        try (FileOutputStream out = new FileOutputStream(path + ".journal", true)) {
+            out.write("0000abcd A T | 0 | half writ".getBytes());
+        }
+
+        ArrayList<Task> loaded = new JournalStorage(path, 100).loadTasks();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    void loadTasks_afterCompaction_keepsAllTasks() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 2);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        for (int i = 0; i < 7; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+        storage.close();
+
+        ArrayList<Task> loaded = new JournalStorage(path, 2).loadTasks();
+        assertEquals(7, loaded.size());
+        assertTrue(tempDir.resolve("pookie.txt").toFile().exists());
+        assertEquals("task 6", loaded.get(6).getDescription());
+    }
+
+    @Test
+    void loadTasks_damagedHeader_throwsException() throws PookieException, IOException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        writeTasksWithDamagedJournal(path);
+
+        PookieException e = assertThrows(PookieException.class, () -> new JournalStorage(path, 100).loadTasks());
+        assertTrue(e.getMessage().startsWith("Error: The header of"));
+    }
+
+    @Test
+    void loadTasks_damagedHeaderWhenLenient_setsJournalAside() throws PookieException, IOException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        writeTasksWithDamagedJournal(path);
+
+        JournalStorage storage = new JournalStorage(path, 100);
+        storage.setLenient(true);
+        ArrayList<Task> loaded = storage.loadTasks();
+
+        assertEquals(1, loaded.size());
+        assertTrue(storage.getLoadReport().hasProblems());
+        assertTrue(tempDir.resolve("pookie.txt.journal.quarantine").toFile().exists());
+        storage.close();
+    }
+
+    @Test
+    void saveTasks_afterClose_compactsWithoutCompactor() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 2);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        storage.close();
+
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+        storage.close();
+
+        ArrayList<Task> loaded = new JournalStorage(path, 2).loadTasks();
+        assertEquals(5, loaded.size());
+        assertFalse(tempDir.resolve("pookie.txt.journal.prev").toFile().exists());
+    }
+
+    /**
+     * Saves one task in the snapshot and another in the journal, then replaces the journal's header with one
+     * that cannot be read.
+     */
+    private void writeTasksWithDamagedJournal(String path) throws PookieException, IOException {
+        JournalStorage storage = new JournalStorage(path, 100);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        taskList.addTask(new ToDo("read book"), ui, storage);
+        storage.saveTasks(taskList.getTasks());
+        taskList.addTask(new ToDo("write report"), ui, storage);
+        storage.close();
+
+        Path journal = Path.of(path + ".journal");
+        String contents = Files.readString(journal, StandardCharsets.UTF_8);
+        Files.writeString(journal, "# base zz" + contents.substring(contents.indexOf('\n')), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.task.Deadline;
+import pookie.task.Event;
+import pookie.task.Task;
+
+public class MappedTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_allTaskTypes_matchesFileFormat() throws IOException, PookieException {
+        String content = "T | 1 | buy food\n"
+                + "D | 0 | ip project | 2025-02-24 2359\r\n"
+                + "E | 0 | work | 2025-02-25 0830 | 2025-02-25 1800\n"
+                + "F | 0 | do homework | 4";
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, content);
+
+        ArrayList<Task> tasks = new MappedTaskLoader().load(file.toFile(), null);
+
+        assertEquals(4, tasks.size());
+        assertEquals("T | 1 | buy food", tasks.get(0).toFileFormat());
+        assertEquals(LocalDateTime.of(2025, 2, 24, 23, 59), ((Deadline) tasks.get(1)).getByDate());
+        assertTrue(tasks.get(2) instanceof Event);
+        assertEquals("E | 0 | work | 2025-02-25 0830 | 2025-02-25 1800", tasks.get(2).toFileFormat());
+        assertEquals("F | 0 | do homework | 4", tasks.get(3).toFileFormat());
+    }
+
+    @Test
+    void load_idPrefix_keepsIds() throws IOException, PookieException {
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, "12 | T | 0 | 3 | 4\nT | 1 | no id\n");
+
+        ArrayList<Task> tasks = new MappedTaskLoader().load(file.toFile(), null);
+
+        assertEquals(12, tasks.get(0).getId());
+        assertEquals("3 | 4", tasks.get(0).getDescription());
+        assertEquals("12 | T | 0 | 3 | 4", tasks.get(0).toFileFormat());
+        assertEquals(0, tasks.get(1).getId());
+    }
+
+    @Test
+    void load_invalidDate_throwsException() throws IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, "D | 0 | report | 2025-02-32 1200\n");
+
+        assertThrows(PookieException.class, () -> new MappedTaskLoader().load(file.toFile(), null));
+    }
+
+    @Test
+    void load_missingDeadlineDate_throwsException() throws IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, "D | 0 | report\n");
+
+        assertThrows(PookieException.class, () -> new MappedTaskLoader().load(file.toFile(), null));
+    }
+}
@@ -0,0 +1,67 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.task.Task;
+
+public class ParallelTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void splitAtRecords_chunksStartAfterNewlines() {
+        ByteBuffer buffer = ByteBuffer.wrap("T | 0 | a\nT | 0 | bb\nT | 0 | c\n".getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(new int[] {0, 10, 21, 31}, ParallelTaskLoader.splitAtRecords(buffer, 31, 3));
+    }
+
+    @Test
+    void load_manyChunks_keepsFileOrder() throws IOException, PookieException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append(i % 2 == 0 ? "T | 0 | task " + i : "D | 1 | task " + i + " | 2025-02-28 2359")
+                    .append('\n');
+        }
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, content.toString());
+
+        ArrayList<Task> expected = new MappedTaskLoader(StandardCharsets.UTF_8).load(file.toFile(), null);
+        ArrayList<Task> actual = new ParallelTaskLoader(StandardCharsets.UTF_8, 4, 1).load(file.toFile(), null);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFileFormat(), actual.get(i).toFileFormat());
+        }
+    }
+
+    @Test
+    void load_lenientWithBadRecords_numbersLinesAcrossChunks() throws IOException, PookieException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 3000; i++) {
+            content.append(i % 1000 == 0 ? "X | 0 | broken " + i : "T | 0 | task " + i).append('\n');
+        }
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, content.toString());
+        LoadReport report = new LoadReport();
+
+        ArrayList<Task> tasks = new ParallelTaskLoader(StandardCharsets.UTF_8, 4, 1).load(file.toFile(), null,
+                report);
+
+        assertEquals(2997, tasks.size());
+        assertEquals("task 1001", tasks.get(999).getDescription());
+        assertEquals(3, report.getRejected().size());
+        assertEquals(2000, report.getRejected().get(1).getLineNumber());
+        assertEquals("X | 0 | broken 2000", report.getRejected().get(1).getRecord());
+    }
+}
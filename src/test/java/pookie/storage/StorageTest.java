@@ -0,0 +1,97 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.task.Task;
+import pookie.task.ToDo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void saveTasks_thenLoad_checksumLineVerified() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        Storage storage = new Storage(file.toString());
+        storage.saveTasks(Arrays.asList(new ToDo("buy food"), new ToDo("read book")));
+
+        List<String> lines = Files.readAllLines(file);
+        ArrayList<Task> loaded = storage.loadTasks();
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).startsWith(Storage.CHECKSUM_PREFIX));
+        assertEquals(2, loaded.size());
+        assertEquals("read book", loaded.get(1).getDescription());
+        assertFalse(Files.exists(tempDir.resolve("pookie.txt.tmp")));
+    }
+
+    @Test
+    void loadTasks_corruptedRecord_throwsException() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        new Storage(file.toString()).saveTasks(Arrays.asList(new ToDo("buy food"), new ToDo("read book")));
+        Files.writeString(file, Files.readString(file).replace("buy food", "buy fool"));
+
+        assertThrows(PookieException.class, () -> new Storage(file.toString()).loadTasks());
+    }
+
+    @Test
+    void loadTasks_withoutChecksumLine_loadsUnchecked() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, "T | 0 | buy food\nT | 1 | read book\n");
+
+        ArrayList<Task> loaded = new Storage(file.toString()).loadTasks();
+
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    void loadTasks_lenientWithDamagedLines_quarantinesThem() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        Files.writeString(file, "T | 0 | buy food\nD | 0 | no date\nT | 1 | read book\nE | 0 | fair | 2025-99\n");
+        Storage storage = new Storage(file.toString());
+        storage.setLenient(true);
+
+        ArrayList<Task> loaded = storage.loadTasks();
+
+        assertEquals(2, loaded.size());
+        assertEquals("read book", loaded.get(1).getDescription());
+        LoadReport report = storage.getLoadReport();
+        assertEquals(2, report.getRejected().size());
+        assertEquals(4, report.getRejected().get(1).getLineNumber());
+        List<String> quarantined = Files.readAllLines(tempDir.resolve("pookie.txt.quarantine"));
+        assertEquals(5, quarantined.size());
+        assertTrue(quarantined.get(1).startsWith("# line 2: "));
+        assertEquals("D | 0 | no date", quarantined.get(2));
+        assertTrue(report.describe().contains("lines 2, 4"));
+    }
+
+    @Test
+    void loadTasks_lenientWithChecksumMismatch_loadsAndReports() throws PookieException, IOException {
+        Path file = tempDir.resolve("pookie.txt");
+        new Storage(file.toString()).saveTasks(Arrays.asList(new ToDo("buy food"), new ToDo("read book")));
+        Files.writeString(file, Files.readString(file).replace("buy food", "buy fool"));
+        Storage storage = new Storage(file.toString());
+        storage.setLenient(true);
+
+        ArrayList<Task> loaded = storage.loadTasks();
+
+        assertEquals("buy fool", loaded.get(0).getDescription());
+        assertTrue(storage.getLoadReport().isChecksumMismatch());
+        assertFalse(Files.exists(tempDir.resolve("pookie.txt.quarantine")));
+    }
+}
@@ -0,0 +1,101 @@
+package pookie.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.list.TaskList;
+import pookie.task.Task;
+import pookie.task.ToDo;
+import pookie.ui.Ui;
+
+public class WriteBehindStorageTest {
+    @TempDir
+    Path tempDir;
+
+    private final Ui ui = new Ui();
+
+    /**
+     * Counts the full saves that reach the underlying file.
+     */
+    private static class CountingStorage extends Storage {
+        private int saves;
+
+        CountingStorage(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveTasks(List<Task> tasks) throws PookieException {
+            saves++;
+            super.saveTasks(tasks);
+        }
+    }
+
+    @Test
+    void flush_burstOfMutations_writesOnce() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        CountingStorage delegate = new CountingStorage(path);
+        WriteBehindStorage storage = new WriteBehindStorage(delegate, 60_000, 10_000);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+        taskList.markTask(3, true, ui, storage);
+        assertFalse(tempDir.resolve("pookie.txt").toFile().exists());
+
+        storage.flush();
+
+        assertEquals(1, delegate.saves);
+        ArrayList<Task> loaded = new Storage(path).loadTasks();
+        assertEquals(50, loaded.size());
+        assertEquals("[T][X] task 3", loaded.get(3).toString());
+    }
+
+    @Test
+    void close_maxPendingReached_savesEverything() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        WriteBehindStorage storage = new WriteBehindStorage(new Storage(path), 60_000, 8);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+        storage.close();
+
+        assertEquals(20, new Storage(path).loadTasks().size());
+    }
+
+    @Test
+    void flush_journalDelegate_appendsChangesWithoutFullSave() throws PookieException {
+        String path = tempDir.resolve("pookie.txt").toString();
+        int[] saves = new int[1];
+        JournalStorage delegate = new JournalStorage(path, 1000) {
+            @Override
+            public synchronized void saveTasks(List<Task> tasks) throws PookieException {
+                saves[0]++;
+                super.saveTasks(tasks);
+            }
+        };
+        WriteBehindStorage storage = new WriteBehindStorage(delegate, 60_000, 10_000);
+        TaskList taskList = new TaskList(storage.loadTasks());
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDo("task " + i), ui, storage);
+        }
+        taskList.deleteTask(0, ui, storage);
+        taskList.markTask(2, true, ui, storage);
+
+        storage.close();
+
+        assertEquals(0, saves[0]);
+        ArrayList<Task> loaded = new JournalStorage(path, 1000).loadTasks();
+        assertEquals(4, loaded.size());
+        assertEquals("[T][X] task 3", loaded.get(2).toString());
+    }
+}
@@ -0,0 +1,80 @@
+package pookie.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class DateTimeCodecTest {
+    private static final DateTimeFormatter STORAGE = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a",
+            Locale.ENGLISH);
+
+    @Test
+    public void appendStorage_matchesFormatter() {
+        LocalDateTime[] samples = {LocalDateTime.of(2025, 2, 28, 23, 59), LocalDateTime.of(2025, 1, 1, 0, 0),
+            LocalDateTime.of(5, 3, 5, 9, 7), LocalDateTime.of(12345, 12, 31, 12, 30)};
+        for (LocalDateTime sample : samples) {
+            assertEquals(sample.format(STORAGE), DateTimeCodec.formatStorage(sample));
+        }
+    }
+
+    @Test
+    public void appendDisplay_matchesUpperCasedFormatter() {
+        LocalDateTime[] samples = {LocalDateTime.of(2025, 2, 28, 23, 59), LocalDateTime.of(2025, 3, 5, 0, 7),
+            LocalDateTime.of(2025, 3, 5, 12, 0), LocalDateTime.of(2025, 10, 27, 9, 5)};
+        for (LocalDateTime sample : samples) {
+            assertEquals(sample.format(DISPLAY).toUpperCase(),
+                    DateTimeCodec.appendDisplay(new StringBuilder(), sample).toString());
+        }
+    }
+
+    @Test
+    public void appendDisplayDate_keepsMonthCase() {
+        assertEquals("Feb 08 2025",
+                DateTimeCodec.appendDisplayDate(new StringBuilder(), LocalDate.of(2025, 2, 8)).toString());
+    }
+
+    @Test
+    public void parseStorage_validText_returnsDateTime() {
+        assertEquals(LocalDateTime.of(2025, 2, 28, 23, 59), DateTimeCodec.parseStorage("2025-02-28 2359"));
+    }
+
+    @Test
+    public void parseStorage_smartResolution_matchesFormatter() {
+        assertEquals(LocalDateTime.of(2025, 2, 28, 10, 0), DateTimeCodec.parseStorage("2025-02-31 1000"));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 10, 0), DateTimeCodec.parseStorage("2024-02-30 1000"));
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), DateTimeCodec.parseStorage("2025-02-28 2400"));
+    }
+
+    @Test
+    public void parseStorage_invalidText_throwsException() {
+        String[] invalid = {"wrong date", "2025-2-28 1000", "2025-02-28 1000 ", "2025-13-01 1000",
+            "2025-02-32 1000", "2025-02-28 2401", "2025-02-28 1060", "0000-01-01 0000", "2025/02/28 1000"};
+        for (String text : invalid) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseStorage(text), text);
+        }
+    }
+
+    @Test
+    public void decodeStorage_bytesAtOffset_returnsDateTime() {
+        ByteBuffer buffer = ByteBuffer.wrap("D | 0 | x | 2025-02-28 2359".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(LocalDateTime.of(2025, 2, 28, 23, 59), DateTimeCodec.decodeStorage(buffer, 12));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.decodeStorage(buffer, 0));
+    }
+
+    @Test
+    public void parseDate_validAndInvalidText() {
+        assertEquals(LocalDate.of(2025, 2, 21), DateTimeCodec.parseDate("2025-02-21"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseDate("21-02-2025"));
+    }
+}
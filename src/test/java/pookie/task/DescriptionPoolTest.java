@@ -0,0 +1,35 @@
+package pookie.task;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+    @Test
+    void intern_equalDescriptions_returnsSameString() {
+        String first = DescriptionPool.intern(new String("team standup"));
+
+        assertSame(first, DescriptionPool.intern(new String("team standup")));
+    }
+
+    @Test
+    void intern_longDescription_isNotPooled() {
+        String description = "x".repeat(DescriptionPool.MAX_LENGTH + 1);
+
+        assertNotSame(DescriptionPool.intern(description), DescriptionPool.intern(new String(description)));
+    }
+
+    @Test
+    void intern_afterPoolFills_keepsSharingNewDescriptions() {
+        for (int i = 0; i <= DescriptionPool.MAX_SIZE; i++) {
+            DescriptionPool.intern("unique description " + i);
+        }
+
+        String late = DescriptionPool.intern(new String("late repeated description"));
+
+        assertSame(late, DescriptionPool.intern(new String("late repeated description")));
+        assertTrue(DescriptionPool.size() <= DescriptionPool.MAX_SIZE);
+    }
+}
@@ -28,5 +28,24 @@ class ToDoTest {
         todo.markDone();
         assertTrue(todo.isDone);
     }
-}
 
+    @Test
+    void toString_unchangedTask_returnsCachedString() {
+        assertSame(todo.toString(), todo.toString());
+    }
+
+    @Test
+    void toString_afterMarking_rendersNewStatus() {
+        todo.toString();
+        todo.markDone();
+        assertEquals("[T][X] Buy groceries", todo.toString());
+        todo.markNotDone();
+        assertEquals("[T][ ] Buy groceries", todo.toString());
+    }
+
+    @Test
+    void constructor_repeatedDescription_sharesString() {
+        ToDo other = new ToDo(new String("Buy groceries"));
+        assertSame(todo.getDescription(), other.getDescription());
+    }
+}
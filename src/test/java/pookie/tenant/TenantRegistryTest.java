@@ -0,0 +1,109 @@
+package pookie.tenant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pookie.exception.PookieException;
+import pookie.storage.Storage;
+import pookie.storage.WriteBehindStorage;
+import pookie.task.ToDo;
+import pookie.ui.Ui;
+
+public class TenantRegistryTest {
+    @TempDir
+    Path tempDir;
+
+    private final Ui ui = new Ui();
+
+    @Test
+    public void withTenant_differentTenants_keepSeparateLists() throws PookieException {
+        TenantRegistry registry = new TenantRegistry(tempDir.toString(), 10, Storage::new);
+
+        registry.withTenant("alice", (tasks, storage) -> {
+            tasks.addTask(new ToDo("alice's task"), ui, storage);
+            return null;
+        });
+        registry.withTenant("bob", (tasks, storage) -> {
+            tasks.addTask(new ToDo("bob's task"), ui, storage);
+            tasks.addTask(new ToDo("another"), ui, storage);
+            return null;
+        });
+
+        assertEquals(1, (int) registry.withTenant("alice", (tasks, storage) -> tasks.size()));
+        assertEquals(2, (int) registry.withTenant("bob", (tasks, storage) -> tasks.size()));
+        assertTrue(tempDir.resolve("alice.txt").toFile().exists());
+    }
+
+    @Test
+    public void withTenant_overCapacity_evictsLeastRecentlyUsedAfterFlushing() throws PookieException {
+        TenantRegistry registry = new TenantRegistry(tempDir.toString(), 2,
+                path -> new WriteBehindStorage(new Storage(path), 60_000, 10_000));
+        registry.withTenant("a", (tasks, storage) -> {
+            tasks.addTask(new ToDo("kept through eviction"), ui, storage);
+            return null;
+        });
+        registry.withTenant("b", (tasks, storage) -> null);
+        assertFalse(tempDir.resolve("a.txt").toFile().exists());
+
+        registry.withTenant("c", (tasks, storage) -> null);
+
+        assertEquals(2, registry.residentCount());
+        assertTrue(tempDir.resolve("a.txt").toFile().exists());
+        assertEquals("kept through eviction", registry.withTenant("a",
+                (tasks, storage) -> tasks.getTasks().get(0).getDescription()));
+        registry.close();
+        assertEquals(0, registry.residentCount());
+    }
+
+    @Test
+    public void withTenant_invalidId_throwsException() {
+        TenantRegistry registry = new TenantRegistry(tempDir.toString(), 10, Storage::new);
+
+        assertThrows(PookieException.class, () -> registry.withTenant("../escape", (tasks, storage) -> null));
+        assertThrows(PookieException.class, () -> registry.withTenant("", (tasks, storage) -> null));
+    }
+
+    @Test
+    public void withTenant_concurrentTenantsUnderEviction_loseNoTasks() throws Exception {
+        TenantRegistry registry = new TenantRegistry(tempDir.toString(), 3, Storage::new);
+        AtomicBoolean hasFailed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String tenantId = "user" + t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 25; i++) {
+                        registry.withTenant(tenantId, (tasks, storage) -> {
+                            tasks.addTask(new ToDo("task"), ui, storage);
+                            return null;
+                        });
+                    }
+                } catch (PookieException e) {
+                    hasFailed.set(true);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(hasFailed.get());
+        assertTrue(registry.residentCount() <= 3);
+        for (int t = 0; t < 8; t++) {
+            assertEquals(25, (int) registry.withTenant("user" + t, (tasks, storage) -> tasks.size()));
+        }
+    }
+}